@@ -0,0 +1,77 @@
+package bench;
+
+import io.DataSet;
+import methods.BesselMethod;
+import methods.GaussForwardMethod;
+import methods.Interpolant;
+import methods.InterpolationMethod;
+import methods.StirlingMethod;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Полный порядок против досрочной остановки по допуску на гладкой таблице.
+ * Вблизи центра формулы стоимость точки должна зависеть от нужного порядка,
+ * а не от n; на всей таблице далёкие от центра точки сходятся хуже.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdaptiveOrderBenchmark {
+
+    @Param({"gauss-forward", "stirling", "bessel"})
+    public String method;
+
+    @Param({"50", "500"})
+    public int n;
+
+    /** 0 — все порядки таблицы. */
+    @Param({"0", "1e-12"})
+    public double tolerance;
+
+    /** {@code table} — точки по всей таблице, {@code middle} — по средней десятой её части. */
+    @Param({"table", "middle"})
+    public String span;
+
+    private Interpolant interpolant;
+    private double[] queries;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        DataSet data = BenchData.table(n, "uniform");
+        int order = n - 1;
+        InterpolationMethod configured = switch (method) {
+            case "gauss-forward"  -> new GaussForwardMethod(order, tolerance);
+            case "stirling"       -> new StirlingMethod(order, tolerance);
+            case "bessel"         -> new BesselMethod(order, tolerance);
+            default -> throw new IllegalArgumentException("Unknown method: " + method);
+        };
+        interpolant = configured.prepare(data);
+        queries = BenchData.queries(401);
+        if (span.equals("middle")) {
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = 0.9 + 0.1 * queries[i];
+            }
+        }
+        out = new double[queries.length];
+    }
+
+    @Benchmark
+    public void valuePerPoint(Blackhole hole) {
+        for (double x : queries) {
+            hole.consume(interpolant.value(x));
+        }
+    }
+
+    @Benchmark
+    public double[] valuesAt() {
+        interpolant.valuesAt(queries, out);
+        return out;
+    }
+}
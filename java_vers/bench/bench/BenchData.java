@@ -0,0 +1,42 @@
+package bench;
+
+import io.DataSet;
+import methods.InterpolationMethod;
+import methods.MethodRegistry;
+
+/** Общие таблицы и методы для бенчмарков. */
+final class BenchData {
+
+    private BenchData() {}
+
+    static InterpolationMethod method(String id) {
+        return MethodRegistry.byId(id);
+    }
+
+    /**
+     * sin(x) на [0, 2]. {@code uniform} — равноотстоящие узлы,
+     * {@code chebyshev} — узлы Чебышёва–Лобатто (для методов с произвольными узлами).
+     */
+    static DataSet table(int n, String spacing) {
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = switch (spacing) {
+                case "uniform"   -> 2.0 * i / (n - 1);
+                case "chebyshev" -> 1.0 - Math.cos(Math.PI * i / (n - 1));
+                default -> throw new IllegalArgumentException("Unknown spacing: " + spacing);
+            };
+            ys[i] = Math.sin(xs[i]);
+        }
+        return new DataSet(xs, ys);
+    }
+
+    /** Точки запроса внутри таблицы, перемешанные детерминированно. */
+    static double[] queries(int count) {
+        double[] queries = new double[count];
+        for (int i = 0; i < count; i++) {
+            queries[i] = 2.0 * ((i * 0.6180339887498949) % 1.0);
+        }
+        return queries;
+    }
+}
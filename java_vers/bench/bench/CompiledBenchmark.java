@@ -0,0 +1,61 @@
+package bench;
+
+import io.DataSet;
+import methods.CompiledPolynomial;
+import methods.Interpolant;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Форма Ньютона/Гаусса против скомпилированного многочлена (Горнер по
+ * мономам и Кленшоу по Чебышёву) — поточечно и пакетом.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompiledBenchmark {
+
+    @Param({"newton-forward", "newton-backward", "gauss-forward", "gauss-backward", "newton-divided"})
+    public String method;
+
+    @Param({"5", "20", "50"})
+    public int n;
+
+    @Param({"prepared", "monomial", "chebyshev"})
+    public String form;
+
+    private Interpolant interpolant;
+    private double[] queries;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        DataSet data = BenchData.table(n, "uniform");
+        Interpolant prepared = BenchData.method(method).prepare(data);
+        interpolant = switch (form) {
+            case "monomial"  -> CompiledPolynomial.compile(prepared, CompiledPolynomial.Basis.MONOMIAL);
+            case "chebyshev" -> CompiledPolynomial.compile(prepared, CompiledPolynomial.Basis.CHEBYSHEV);
+            default -> prepared;
+        };
+        queries = BenchData.queries(401);
+        out = new double[queries.length];
+    }
+
+    @Benchmark
+    public void valuePerPoint(Blackhole hole) {
+        for (double x : queries) {
+            hole.consume(interpolant.value(x));
+        }
+    }
+
+    @Benchmark
+    public double[] valuesAt() {
+        interpolant.valuesAt(queries, out);
+        return out;
+    }
+}
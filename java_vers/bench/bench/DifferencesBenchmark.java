@@ -0,0 +1,72 @@
+package bench;
+
+import io.DataSet;
+import methods.CentralBand;
+import methods.GaussUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Построение таблиц разностей в полном, упакованном и O(n) виде. Полная
+ * таблица занимает 8n² байт, поэтому n не больше 2000 (32 МБ на операцию).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DifferencesBenchmark {
+
+    @Param({"5", "50", "500", "2000"})
+    public int n;
+
+    @Param({"uniform", "chebyshev"})
+    public String spacing;
+
+    private double[] xs;
+    private double[] ys;
+
+    @Setup
+    public void setUp() {
+        DataSet data = BenchData.table(n, spacing);
+        xs = data.xs();
+        ys = data.ys();
+    }
+
+    @Benchmark
+    public double[][] forwardDifferences() {
+        return GaussUtils.forwardDifferences(ys);
+    }
+
+    @Benchmark
+    public double[][] dividedDifferences() {
+        return GaussUtils.dividedDifferences(xs, ys);
+    }
+
+    @Benchmark
+    public double[] forwardDifferencesPacked() {
+        return GaussUtils.forwardDifferencesPacked(ys);
+    }
+
+    @Benchmark
+    public double[] dividedDifferencesPacked() {
+        return GaussUtils.dividedDifferencesPacked(xs, ys);
+    }
+
+    @Benchmark
+    public double[] forwardDiagonal() {
+        return GaussUtils.forwardDiagonal(ys);
+    }
+
+    @Benchmark
+    public double[] dividedDiagonal() {
+        return GaussUtils.dividedDiagonal(xs, ys);
+    }
+
+    @Benchmark
+    public CentralBand centralBand() {
+        return GaussUtils.centralBand(ys);
+    }
+}
@@ -0,0 +1,63 @@
+package bench;
+
+import io.DataSet;
+import io.FloatDataSet;
+import methods.FloatInterpolant;
+import methods.Interpolant;
+import methods.InterpolationMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пакетное вычисление в double против float на больших массивах точек,
+ * которые уже не помещаются в кэш.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FloatBenchmark {
+
+    @Param({"newton-forward", "newton-backward"})
+    public String method;
+
+    @Param({"8", "20", "25"})
+    public int n;
+
+    @Param({"1048576"})
+    public int queryCount;
+
+    private Interpolant interpolant;
+    private FloatInterpolant floatInterpolant;
+    private double[] queries;
+    private double[] out;
+    private float[] floatQueries;
+    private float[] floatOut;
+
+    @Setup
+    public void setUp() {
+        InterpolationMethod interpolationMethod = BenchData.method(method);
+        DataSet data = BenchData.table(n, "uniform");
+        interpolant = interpolationMethod.prepare(data);
+        floatInterpolant = interpolationMethod.prepareFloat(FloatDataSet.of(data));
+        queries = BenchData.queries(queryCount);
+        out = new double[queryCount];
+        floatQueries = FloatDataSet.narrow(queries);
+        floatOut = new float[queryCount];
+    }
+
+    @Benchmark
+    public double[] doubleBatch() {
+        interpolant.valuesAt(queries, out);
+        return out;
+    }
+
+    @Benchmark
+    public float[] floatBatch() {
+        floatInterpolant.valuesAt(floatQueries, floatOut);
+        return floatOut;
+    }
+}
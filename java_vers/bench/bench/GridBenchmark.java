@@ -0,0 +1,83 @@
+package bench;
+
+import io.DataSet;
+import io.GridDataSet;
+import methods.GridInterpolant;
+import methods.InterpolationMethod;
+import methods.TensorProductMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сетка n × n: {@link GridInterpolant} против подготовки n таблиц на каждую
+ * точку. {@code scanline} — точки по 64 на каждый x (столбец берётся из
+ * кэша), {@code scattered} — у каждой точки свой x.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GridBenchmark {
+
+    private static final int POINTS = 4096;
+    private static final int PER_LINE = 64;
+
+    @Param({"newton-forward", "lagrange"})
+    public String method;
+
+    @Param({"10", "30"})
+    public int n;
+
+    @Param({"scanline", "scattered"})
+    public String order;
+
+    private InterpolationMethod interpolationMethod;
+    private GridDataSet grid;
+    private GridInterpolant surface;
+    private double[] qx;
+    private double[] qy;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        interpolationMethod = BenchData.method(method);
+        double[] nodes = BenchData.table(n, "uniform").xs();
+        double[][] zs = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                zs[i][j] = Math.sin(nodes[i]) * Math.cos(nodes[j]);
+            }
+        }
+        grid = new GridDataSet(nodes, nodes, zs);
+        surface = new TensorProductMethod(interpolationMethod).prepare(grid);
+
+        double[] spread = BenchData.queries(POINTS);
+        qx = new double[POINTS];
+        qy = spread.clone();
+        for (int i = 0; i < POINTS; i++) {
+            qx[i] = order.equals("scanline") ? spread[i / PER_LINE * PER_LINE] : spread[POINTS - 1 - i];
+        }
+        out = new double[POINTS];
+    }
+
+    @Benchmark
+    public double[] tensor() {
+        surface.valuesAt(qx, qy, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] rebuild() {
+        double[] column = new double[n];
+        for (int p = 0; p < POINTS; p++) {
+            for (int i = 0; i < n; i++) {
+                column[i] = interpolationMethod.prepare(grid.alongY(i)).value(qy[p]);
+            }
+            out[p] = interpolationMethod.prepare(new DataSet(grid.xs(), column, grid.xGrid())).value(qx[p]);
+        }
+        return out;
+    }
+}
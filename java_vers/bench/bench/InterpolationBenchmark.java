@@ -0,0 +1,69 @@
+package bench;
+
+import io.DataSet;
+import methods.Interpolant;
+import methods.InterpolationMethod;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Подготовка и вычисление каждого метода в зависимости от размера таблицы,
+ * числа точек запроса и расположения узлов. Пути с подготовкой на каждую
+ * точку — в {@link LegacyBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterpolationBenchmark {
+
+    @Param({"lagrange", "newton-forward", "newton-backward",
+            "gauss-forward", "gauss-backward", "stirling", "bessel", "auto", "spline"})
+    public String method;
+
+    @Param({"5", "50", "500", "10000"})
+    public int n;
+
+    @Param({"1", "401", "10000"})
+    public int queryCount;
+
+    @Param({"uniform"})
+    public String spacing;
+
+    private InterpolationMethod interpolationMethod;
+    private DataSet data;
+    private Interpolant interpolant;
+    private double[] queries;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        interpolationMethod = BenchData.method(method);
+        data = BenchData.table(n, spacing);
+        interpolant = interpolationMethod.prepare(data);
+        queries = BenchData.queries(queryCount);
+        out = new double[queryCount];
+    }
+
+    @Benchmark
+    public Interpolant prepare() {
+        return interpolationMethod.prepare(data);
+    }
+
+    @Benchmark
+    public void valuePerPoint(Blackhole hole) {
+        for (double x : queries) {
+            hole.consume(interpolant.value(x));
+        }
+    }
+
+    @Benchmark
+    public double[] valuesAt() {
+        interpolant.valuesAt(queries, out);
+        return out;
+    }
+}
@@ -0,0 +1,52 @@
+package bench;
+
+import io.DataSet;
+import methods.InterpolationMethod;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пути, которые стоят O(n²) на каждую точку: старый вызов
+ * {@link InterpolationMethod#value(double[], double[], double)}, строящий таблицу
+ * заново, и классический Лагранж. Сетка параметров меньше, чем в
+ * {@link InterpolationBenchmark}: при n = 10⁴ одна операция шла бы часами.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LegacyBenchmark {
+
+    @Param({"lagrange", "newton-forward", "newton-backward", "gauss-forward", "gauss-backward",
+            "stirling", "bessel", "auto", "spline", "lagrange-classic"})
+    public String method;
+
+    @Param({"5", "50", "500"})
+    public int n;
+
+    @Param({"1", "401"})
+    public int queryCount;
+
+    private InterpolationMethod interpolationMethod;
+    private DataSet data;
+    private double[] queries;
+
+    @Setup
+    public void setUp() {
+        interpolationMethod = BenchData.method(method);
+        data = BenchData.table(n, "uniform");
+        queries = BenchData.queries(queryCount);
+    }
+
+    /** Таблица строится заново на каждое значение. */
+    @Benchmark
+    public void legacyValue(Blackhole hole) {
+        for (double x : queries) {
+            hole.consume(interpolationMethod.value(data.xs(), data.ys(), x));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package bench;
+
+import io.DataSet;
+import methods.InterpolationMethod;
+import methods.MethodRegistry;
+import methods.ParallelEvaluator;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.openjdk.jmh.annotations.*;
+import plot.GraphPlotter;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * То, что делает GraphPlotter перед показом окна: подготовка всех семи
+ * методов и заполнение серий по 401 точке.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeriesFillBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int n;
+
+    @Param({"sequential", "parallel"})
+    public String mode;
+
+    private DataSet data;
+    private LinkedHashMap<String, InterpolationMethod> methods;
+    private ParallelEvaluator evaluator;
+
+    @Setup
+    public void setUp() {
+        data = BenchData.table(n, "uniform");
+        methods = new LinkedHashMap<>();
+        for (String id : MethodRegistry.standardIds()) {
+            methods.put(id, BenchData.method(id));
+        }
+        evaluator = mode.equals("parallel")
+                ? new ParallelEvaluator()
+                : new ParallelEvaluator(new ForkJoinPool(1));
+    }
+
+    @Benchmark
+    public XYSeriesCollection fillSeries() {
+        return GraphPlotter.createDataset(data, Math::sin, methods, -0.1, 2.1, evaluator);
+    }
+}
@@ -0,0 +1,60 @@
+package bench;
+
+import io.DataSet;
+import methods.Interpolant;
+import methods.InterpolationMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Методы, которым не нужна равномерная сетка: как расположение узлов
+ * влияет на подготовку (веса Лагранжа, разделённые разности) и вычисление.
+ * Классический Лагранж (O(n²) на точку) — в {@link LegacyBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpacingBenchmark {
+
+    @Param({"lagrange", "newton-divided"})
+    public String method;
+
+    @Param({"5", "50", "500", "10000"})
+    public int n;
+
+    @Param({"401", "100000"})
+    public int queryCount;
+
+    @Param({"uniform", "chebyshev"})
+    public String spacing;
+
+    private InterpolationMethod interpolationMethod;
+    private DataSet data;
+    private Interpolant interpolant;
+    private double[] queries;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        interpolationMethod = BenchData.method(method);
+        data = BenchData.table(n, spacing);
+        interpolant = interpolationMethod.prepare(data);
+        queries = BenchData.queries(queryCount);
+        out = new double[queryCount];
+    }
+
+    @Benchmark
+    public Interpolant prepare() {
+        return interpolationMethod.prepare(data);
+    }
+
+    @Benchmark
+    public double[] valuesAt() {
+        interpolant.valuesAt(queries, out);
+        return out;
+    }
+}
@@ -0,0 +1,46 @@
+package bench;
+
+import io.NumberTokenizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Разбор строки из миллиона чисел: прежний split + stream против NumberTokenizer. */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenizerBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int tokens;
+
+    private String line;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < tokens; i++) {
+            builder.append(String.format(Locale.ROOT, "%.6f", random.nextDouble() * 200 - 100)).append(' ');
+        }
+        line = builder.toString();
+    }
+
+    @Benchmark
+    public double[] regexSplit() {
+        return Arrays.stream(line.trim().split("\\s+"))
+                .mapToDouble(Double::parseDouble)
+                .toArray();
+    }
+
+    @Benchmark
+    public double[] tokenizer() {
+        return NumberTokenizer.parseLine(line);
+    }
+}
@@ -1,7 +1,13 @@
+import batch.BatchRunner;
 import io.*;
 import methods.*;
+import metrics.Metrics;
+import plot.ChartRenderer;
 import plot.GraphPlotter;
+import service.InterpolationServer;
 
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,34 +17,74 @@ import java.util.function.DoubleUnaryOperator;
 public class Main {
 
     private static final Scanner INPUT = new Scanner(System.in);
-
-    public static void main(String[] args) {
+    private static final ParallelEvaluator EVALUATOR = new ParallelEvaluator();
+    private static final AutoMethod AUTO = new AutoMethod();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchRunner.main(args);
+            printMetrics(System.err);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            InterpolationServer.main(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--render")) {
+            ChartRenderer.main(args);
+            printMetrics(System.err);
+            return;
+        }
 
         do {
             DataProvider provider = chooseProvider();
             DataSet data = provider.readData();
 
-            double[][] differences = methods.GaussUtils.forwardDifferences(data.ys());
-            printDifferences(data.xs(), differences);
+            // конечные разности имеют смысл только на равномерной сетке
+            if (data.grid().uniform()) {
+                printDifferences(data.xs(), GaussUtils.forwardDifferencesPacked(data.ys()));
+            }
 
             double targetX = askX();
 
-            InterpolationMethod lagrange   = new LagrangeMethod();
-            InterpolationMethod newtonFwd  = new NewtonForwardMethod();
-            InterpolationMethod newtonBwd  = new NewtonBackwardMethod();
-            InterpolationMethod gaussOne   = new GaussForwardMethod();
-            InterpolationMethod gaussTwo   = new GaussBackwardMethod();
-            InterpolationMethod stirling   = new StirlingMethod();
-            InterpolationMethod bessel     = new BesselMethod();
+            InterpolationMethod lagrange   = MethodRegistry.byId("lagrange");
+            InterpolationMethod newtonFwd  = MethodRegistry.byId("newton-forward");
+            InterpolationMethod newtonBwd  = MethodRegistry.byId("newton-backward");
+            InterpolationMethod gaussOne   = MethodRegistry.byId("gauss-forward");
+            InterpolationMethod gaussTwo   = MethodRegistry.byId("gauss-backward");
+            InterpolationMethod stirling   = MethodRegistry.byId("stirling");
+            InterpolationMethod bessel     = MethodRegistry.byId("bessel");
+            InterpolationMethod spline     = MethodRegistry.byId("spline");
+
+            Map<String, InterpolationMethod> labelled = new LinkedHashMap<>();
+            labelled.put("Лагранж        ", lagrange);
+            labelled.put("Ньютон вперёд  ", newtonFwd);
+            labelled.put("Ньютон назад   ", newtonBwd);
+            labelled.put("Гаусс (1-я)    ", gaussOne);
+            labelled.put("Гаусс (2-я)    ", gaussTwo);
+            labelled.put("Стирлинг       ", stirling);
+            labelled.put("Бессель        ", bessel);
+            labelled.put("Сплайн         ", spline);
+
+            if (!data.grid().uniform()) {
+                System.out.println("\nУзлы не равноотстоящие — таблица разностей и методы на них пропущены.");
+            }
+            labelled.values().removeIf(method -> !method.supports(data));
+
+            List<InterpolationMethod> ordered = List.copyOf(labelled.values());
+            double[][] values = EVALUATOR.evaluate(ordered, data, new double[]{targetX});
 
             System.out.printf("%nЗначения в точке x = %.6f%n", targetX);
-            printValue(lagrange,  "Лагранж        ", data, targetX);
-            printValue(newtonFwd, "Ньютон вперёд  ", data, targetX);
-            printValue(newtonBwd, "Ньютон назад   ", data, targetX);
-            printValue(gaussOne,  "Гаусс (1-я)    ", data, targetX);
-            printValue(gaussTwo,  "Гаусс (2-я)    ", data, targetX);
-            printValue(stirling,  "Стирлинг       ", data, targetX);
-            printValue(bessel,    "Бессель        ", data, targetX);
+            int row = 0;
+            for (String label : labelled.keySet()) {
+                printValue(label, values[row++][0]);
+            }
+            if (AUTO.supports(data)) {
+                AutoInterpolant auto = AUTO.prepare(data);
+                AdaptiveInterpolant.Evaluation chosen = auto.evaluate(targetX);
+                System.out.printf("Автовыбор      → %.6f  (%s, порядок %d)%n",
+                        chosen.value(), describe(auto.choose(targetX)), chosen.order());
+            }
 
             DoubleUnaryOperator exactFunc = null;
             if (provider instanceof FunctionDataProvider p) {
@@ -53,13 +99,25 @@ public class Main {
             curves.put("Гаусс 2",  gaussTwo);
             curves.put("Стирлинг", stirling);
             curves.put("Бессель",  bessel);
+            curves.put("Сплайн",   spline);
+            curves.values().removeIf(method -> !method.supports(data));
 
             double left  = data.xs()[0] - 0.1;
             double right = data.xs()[data.xs().length - 1] + 0.1;
 
-            GraphPlotter.show(data, exactFunc, new LinkedHashMap<>(curves), left, right);
+            GraphPlotter.show(data, exactFunc, new LinkedHashMap<>(curves), left, right, EVALUATOR);
 
         } while (repeatRequest());
+
+        printMetrics(System.out);
+    }
+
+    /** Сводка замеров, если запущено с {@code -Dinterp.metrics=true}. */
+    private static void printMetrics(PrintStream out) {
+        if (Metrics.ENABLED) {
+            out.println("\nЗамеры:");
+            out.print(Metrics.summary());
+        }
     }
 
     private static DataProvider chooseProvider() {
@@ -95,13 +153,20 @@ public class Main {
         return INPUT.nextLine().trim().equalsIgnoreCase("y");
     }
 
-    private static void printValue(InterpolationMethod method, String label,
-                                   DataSet data, double x) {
-        double value = method.value(data.xs(), data.ys(), x);
+    private static String describe(AutoInterpolant.Choice choice) {
+        return switch (choice) {
+            case NEWTON_FORWARD  -> "Ньютон вперёд";
+            case NEWTON_BACKWARD -> "Ньютон назад";
+            case STIRLING        -> "Стирлинг";
+            case BESSEL          -> "Бессель";
+        };
+    }
+
+    private static void printValue(String label, double value) {
         System.out.printf("%s→ %.6f%n", label, value);
     }
 
-    private static void printDifferences(double[] xs, double[][] diff) {
+    private static void printDifferences(double[] xs, double[] diff) {
         int n = xs.length;
         System.out.println("\nТаблица конечных разностей:");
         System.out.printf("%10s %10s", "x", "y");
@@ -110,9 +175,9 @@ public class Main {
         }
         System.out.println();
         for (int i = 0; i < n; i++) {
-            System.out.printf("%10.4f %10.4f", xs[i], diff[i][0]);
+            System.out.printf("%10.4f %10.4f", xs[i], diff[GaussUtils.packedIndex(n, i, 0)]);
             for (int k = 1; k < n - i; k++) {
-                System.out.printf(" %10.4f", diff[i][k]);
+                System.out.printf(" %10.4f", diff[GaussUtils.packedIndex(n, i, k)]);
             }
             System.out.println();
         }
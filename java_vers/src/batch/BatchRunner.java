@@ -0,0 +1,206 @@
+package batch;
+
+import io.DataSet;
+import methods.Interpolant;
+import methods.InterpolantCache;
+import methods.InterpolationMethod;
+import methods.MethodRegistry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Неинтерактивный режим: читает задания (по одному на строку) из файлов
+ * или stdin и пишет результаты без Swing и без диалога.
+ * <p>
+ * Задания считаются на пуле из {@code threads} потоков; одновременно в работе
+ * не больше {@code 2 * threads} заданий, так что файл на миллионы строк не
+ * держится в памяти целиком. Результаты пишутся строго в порядке заданий.
+ * Ошибка одного задания или метода становится записью об ошибке и не
+ * останавливает остальные. Подготовленные интерполянты общие для всех
+ * заданий через {@link InterpolantCache}: повторяющиеся таблицы не готовятся заново.
+ */
+public final class BatchRunner {
+
+    private static final int CACHE_ENTRIES = 512;
+    private static final long CACHE_BYTES = 128L << 20;
+
+    private final int threads;
+    private final int maxInFlight;
+    private final InterpolantCache cache;
+
+    public BatchRunner(int threads) {
+        this(threads, new InterpolantCache(CACHE_ENTRIES, CACHE_BYTES));
+    }
+
+    public BatchRunner(int threads, InterpolantCache cache) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.threads = threads;
+        this.maxInFlight = 2 * threads;
+        this.cache = cache;
+    }
+
+    /**
+     * Точка входа для {@code Main --batch [--out файл] [--threads N] [файл ... | -]}.
+     * Без файлов задания читаются из stdin.
+     */
+    public static void main(String[] args) throws IOException {
+        Path out = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<String> sources = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--batch"   -> { }
+                case "--out"     -> out = Path.of(option(args, i++));
+                case "--threads" -> threads = Integer.parseInt(option(args, i++));
+                default -> sources.add(args[i]);
+            }
+        }
+        if (sources.isEmpty()) {
+            sources.add("-");
+        }
+
+        BatchRunner runner = new BatchRunner(threads);
+        if (out == null) {
+            // System.out не закрываем: после пакета в него ещё может писать тот же процесс
+            Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            try {
+                runner.runAll(sources, writer);
+            } finally {
+                writer.flush();
+            }
+        } else {
+            try (Writer writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+                runner.runAll(sources, writer);
+            }
+        }
+    }
+
+    /** Значение опции {@code args[i]}; если его нет — IllegalArgumentException с подсказкой по вызову. */
+    private static String option(String[] args, int i) {
+        if (i + 1 >= args.length) {
+            throw new IllegalArgumentException("После " + args[i] + " нужно значение. Использование: "
+                    + "Main --batch [--out файл] [--threads N] [файл ... | -]");
+        }
+        return args[i + 1];
+    }
+
+    /** Задания из файлов {@code sources} по порядку; {@code -} — stdin. */
+    private void runAll(List<String> sources, Writer writer) throws IOException {
+        for (String source : sources) {
+            if (source.equals("-")) {
+                run(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                        "stdin", Path.of(""), writer);
+            } else {
+                Path file = Path.of(source);
+                Path base = file.toAbsolutePath().getParent();
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    run(reader, file.getFileName().toString(), base, writer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Выполняет все задания из {@code jobs} и пишет результаты в {@code out}.
+     * Пустые строки и строки, начинающиеся с {@code #}, пропускаются.
+     * Относительные пути к таблицам разрешаются от {@code baseDir}.
+     */
+    public void run(BufferedReader jobs, String source, Path baseDir, Writer out) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<String>> inFlight = new ArrayDeque<>(maxInFlight);
+        try {
+            String line;
+            int lineNo = 0;
+            while ((line = jobs.readLine()) != null) {
+                lineNo++;
+                String record = line.trim();
+                if (record.isEmpty() || record.startsWith("#")) {
+                    continue;
+                }
+                if (inFlight.size() == maxInFlight) {
+                    out.write(await(inFlight.poll()));
+                }
+                String defaultId = source + ":" + lineNo;
+                inFlight.add(pool.submit(() -> execute(record, defaultId, baseDir)));
+            }
+            while (!inFlight.isEmpty()) {
+                out.write(await(inFlight.poll()));
+            }
+            out.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Разбирает и считает одно задание; результат — готовый текст вывода. */
+    String execute(String record, String defaultId, Path baseDir) {
+        StringBuilder out = new StringBuilder();
+        Job job;
+        try {
+            job = Job.parse(record, defaultId, baseDir);
+        } catch (RuntimeException e) {
+            OutputFormat.CSV.error(out, defaultId, "", message(e));
+            return out.toString();
+        }
+
+        DataSet data;
+        try {
+            data = job.data();
+        } catch (IOException | UncheckedIOException e) {
+            job.format().error(out, job.id(), "", "не удалось прочитать таблицу: " + message(e));
+            return out.toString();
+        } catch (IllegalArgumentException e) {
+            job.format().error(out, job.id(), "", message(e));
+            return out.toString();
+        }
+
+        double[] ys = new double[job.queries().length];
+        for (String id : job.methods()) {
+            InterpolationMethod method = MethodRegistry.byId(id);
+            if (!method.supports(data)) {
+                job.format().error(out, job.id(), id, "метод не применим к этой сетке");
+                continue;
+            }
+            try {
+                Interpolant interpolant = cache.get(id, method, data);
+                interpolant.valuesAt(job.queries(), ys);
+                job.format().values(out, job.id(), id, job.queries(), ys);
+            } catch (RuntimeException e) {
+                job.format().error(out, job.id(), id, message(e));
+            }
+        }
+        return out.toString();
+    }
+
+    private static String await(Future<String> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Пакетная обработка прервана", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Сбой задания", e.getCause());
+        }
+    }
+
+    private static String message(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,78 @@
+package batch;
+
+import io.DataSet;
+import io.DataSets;
+import io.FileDataProvider;
+import io.NumberTokenizer;
+import methods.MethodRegistry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Одно задание пакетного режима. Запись — одна строка из полей
+ * {@code ключ=значение}, разделённых точкой с запятой:
+ * <pre>
+ *   id=run1; table=data/sin.txt; x=0.5 1.5 2.5; methods=lagrange,stirling; format=csv
+ *   xs=0 1 2 3; ys=0 1 4 9; x=1.5
+ * </pre>
+ * Таблица задаётся файлом ({@code table}, текстовый или двоичный) или прямо
+ * в записи ({@code xs} и {@code ys}). По умолчанию — семь методов Main и CSV.
+ */
+record Job(String id, Path table, DataSet inline, double[] queries,
+           List<String> methods, OutputFormat format) {
+
+    static Job parse(String record, String defaultId, Path baseDir) {
+        String id = defaultId;
+        Path table = null;
+        double[] xs = null;
+        double[] ys = null;
+        double[] queries = null;
+        List<String> methods = MethodRegistry.standardIds();
+        OutputFormat format = OutputFormat.CSV;
+
+        for (String field : record.split(";")) {
+            if (field.isBlank()) {
+                continue;
+            }
+            int eq = field.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Поле без '=': " + field.trim());
+            }
+            String key = field.substring(0, eq).trim();
+            String value = field.substring(eq + 1).trim();
+            switch (key) {
+                case "id"      -> id = value;
+                case "table"   -> table = baseDir.resolve(value);
+                case "xs"      -> xs = NumberTokenizer.parseLine(value);
+                case "ys"      -> ys = NumberTokenizer.parseLine(value);
+                case "x"       -> queries = NumberTokenizer.parseLine(value);
+                case "methods" -> methods = parseMethods(value);
+                case "format"  -> format = OutputFormat.parse(value);
+                default -> throw new IllegalArgumentException("Неизвестное поле: " + key);
+            }
+        }
+
+        if (queries == null) {
+            throw new IllegalArgumentException("Не заданы точки x.");
+        }
+        if (table == null && (xs == null || ys == null)) {
+            throw new IllegalArgumentException("Нужна таблица: table=<файл> или xs=... ys=...");
+        }
+        DataSet inline = table == null ? DataSets.validated(xs, ys) : null;
+        return new Job(id, table, inline, queries, methods, format);
+    }
+
+    private static List<String> parseMethods(String value) {
+        List<String> methods = List.of(value.split("\\s*,\\s*"));
+        for (String method : methods) {
+            MethodRegistry.byId(method);
+        }
+        return methods;
+    }
+
+    DataSet data() throws IOException {
+        return inline != null ? inline : FileDataProvider.read(table);
+    }
+}
@@ -0,0 +1,112 @@
+package batch;
+
+import java.util.Locale;
+
+/** Формат вывода результатов одного задания. */
+public enum OutputFormat {
+
+    /** {@code job,method,x,y} на каждую точку; ошибка — {@code job,method,,,error}. */
+    CSV {
+        @Override
+        void values(StringBuilder out, String job, String method, double[] xs, double[] ys) {
+            for (int i = 0; i < xs.length; i++) {
+                out.append(job).append(',').append(method).append(',')
+                        .append(xs[i]).append(',').append(ys[i]).append('\n');
+            }
+        }
+
+        @Override
+        void error(StringBuilder out, String job, String method, String message) {
+            out.append(job).append(',').append(method).append(",,,")
+                    .append(message.replace(',', ';').replace('\n', ' ')).append('\n');
+        }
+    },
+
+    /** Одна JSON-строка на пару (задание, метод). */
+    JSON {
+        @Override
+        void values(StringBuilder out, String job, String method, double[] xs, double[] ys) {
+            out.append("{\"job\":");
+            string(out, job);
+            out.append(",\"method\":");
+            string(out, method);
+            out.append(",\"x\":");
+            array(out, xs);
+            out.append(",\"y\":");
+            array(out, ys);
+            out.append("}\n");
+        }
+
+        @Override
+        void error(StringBuilder out, String job, String method, String message) {
+            out.append("{\"job\":");
+            string(out, job);
+            out.append(",\"method\":");
+            string(out, method);
+            out.append(",\"error\":");
+            string(out, message);
+            out.append("}\n");
+        }
+
+        private void array(StringBuilder out, double[] values) {
+            out.append('[');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.append(',');
+                if (Double.isFinite(values[i])) {
+                    out.append(values[i]);
+                } else {
+                    out.append("null");
+                }
+            }
+            out.append(']');
+        }
+
+        private void string(StringBuilder out, String value) {
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"'  -> out.append("\\\"");
+                    case '\\' -> out.append("\\\\");
+                    case '\n' -> out.append("\\n");
+                    default -> {
+                        if (c < 0x20) {
+                            out.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.append(c);
+                        }
+                    }
+                }
+            }
+            out.append('"');
+        }
+    },
+
+    /** Человекочитаемая таблица, как в интерактивном режиме. */
+    TEXT {
+        @Override
+        void values(StringBuilder out, String job, String method, double[] xs, double[] ys) {
+            for (int i = 0; i < xs.length; i++) {
+                out.append(String.format(Locale.ROOT, "%-12s %-16s x = %12.6f → %.6f%n",
+                        job, method, xs[i], ys[i]));
+            }
+        }
+
+        @Override
+        void error(StringBuilder out, String job, String method, String message) {
+            out.append(String.format("%-12s %-16s ошибка: %s%n", job, method, message));
+        }
+    };
+
+    abstract void values(StringBuilder out, String job, String method, double[] xs, double[] ys);
+
+    abstract void error(StringBuilder out, String job, String method, String message);
+
+    static OutputFormat parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Неизвестный формат вывода: " + name);
+        }
+    }
+}
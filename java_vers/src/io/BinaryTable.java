@@ -0,0 +1,125 @@
+package io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Двоичный формат таблицы (little-endian):
+ * <pre>
+ *   "CMTB"  int версия  long n  |  n × double x  |  n × double y
+ * </pre>
+ * Файл отображается в память через {@link FileChannel#map}, числа копируются
+ * в массивы {@link DataSet} одним блочным чтением без разбора текста.
+ */
+public final class BinaryTable {
+
+    static final int MAGIC = 0x42544d43;              // "CMTB" в little-endian
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    private static final long CHUNK_BYTES = 1L << 30;
+
+    private BinaryTable() {}
+
+    public static boolean isBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            return header.getInt(0) == MAGIC;
+        }
+    }
+
+    public static DataSet read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long count = count(channel);
+            if (count > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException(
+                        "Таблица из " + count + " узлов не помещается в массив, см. OffHeapTable.map.");
+            }
+            double[] xs = new double[(int) count];
+            double[] ys = new double[(int) count];
+            readDoubles(channel, HEADER_BYTES, xs);
+            readDoubles(channel, HEADER_BYTES + 8 * count, ys);
+            return new DataSet(xs, ys);
+        }
+    }
+
+    /** Проверяет заголовок и возвращает число узлов; x начинаются с {@link #HEADER_BYTES}, y — через 8n байт. */
+    static long count(FileChannel channel) throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Файл не является двоичной таблицей.");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Неподдерживаемая версия таблицы: " + header.getInt(4));
+        }
+        long count = header.getLong(8);
+        if (count < 0 || count > (Long.MAX_VALUE - HEADER_BYTES) / 16
+                || channel.size() != HEADER_BYTES + 16 * count) {
+            throw new IllegalArgumentException("Размер файла не соответствует заголовку таблицы.");
+        }
+        return count;
+    }
+
+    private static void readDoubles(FileChannel channel, long position, double[] target) throws IOException {
+        int done = 0;
+        while (done < target.length) {
+            int count = (int) Math.min(target.length - done, CHUNK_BYTES / 8);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position + 8L * done, 8L * count);
+            region.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(target, done, count);
+            done += count;
+        }
+    }
+
+    public static void write(Path path, DataSet data) throws IOException {
+        double[] xs = data.xs();
+        double[] ys = data.ys();
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Количество x и y должно совпадать.");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(xs.length);
+            for (double[] column : new double[][]{xs, ys}) {
+                for (double value : column) {
+                    if (!buffer.hasRemaining()) {
+                        drain(channel, buffer);
+                    }
+                    buffer.putDouble(value);
+                }
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** Переводит текстовую таблицу из двух строк в двоичный формат. */
+    public static void convert(Path textFile, Path binaryFile) throws IOException {
+        write(binaryFile, TextTableReader.read(textFile));
+    }
+
+    /** {@code java io.BinaryTable table.txt table.bin} */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Использование: java io.BinaryTable <таблица.txt> <таблица.bin>");
+            System.exit(2);
+        }
+        convert(Path.of(args[0]), Path.of(args[1]));
+    }
+}
@@ -0,0 +1,120 @@
+package io;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Узлы Чебышёва–Лобатто x_j = c + r cos(jπ/n), j = 0..n, подобранные под
+ * заданную точность. Сетки вложены: при удвоении n старые узлы остаются
+ * (чётные индексы), а новые (нечётные) — это ровно те точки, в которых
+ * удобно оценить погрешность текущего многочлена. Поэтому f считается
+ * в каждой точке один раз, а n удваивается, пока max |p_n - f| в новых
+ * точках не станет меньше допуска.
+ * <p>
+ * На таких узлах интерполяция не страдает эффектом Рунге, а барицентрическая
+ * формула с весами (-1)^j δ_j даёт устойчивое вычисление за O(n).
+ */
+public final class ChebyshevNodes {
+
+    /** Начальная степень многочлена. */
+    private static final int INITIAL_DEGREE = 4;
+    /** Дальше удваивать не имеет смысла: оценка стоит O(n²), а точность упирается в округление. */
+    public static final int MAX_DEGREE = 1 << 12;
+
+    /** Таблица и оценка погрешности на ней. */
+    public record Fit(DataSet data, double estimatedError) { }
+
+    private ChebyshevNodes() {}
+
+    /**
+     * Наименьшая сетка Чебышёва–Лобатто (по удвоению степени), на которой
+     * оценка max |p_n(x) - f(x)| не превышает {@code tolerance}.
+     *
+     * @throws IllegalArgumentException если точность не достигнута до {@link #MAX_DEGREE}
+     */
+    public static Fit fit(DoubleUnaryOperator f, double a, double b, double tolerance) {
+        if (!(a < b)) {
+            throw new IllegalArgumentException("a должно быть меньше b.");
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Точность должна быть положительной.");
+        }
+
+        double center = 0.5 * (a + b);
+        double radius = 0.5 * (b - a);
+        int degree = INITIAL_DEGREE;
+        double[] xs = new double[degree + 1];
+        double[] ys = new double[degree + 1];
+        for (int j = 0; j <= degree; j++) {
+            xs[j] = center + radius * Math.cos(Math.PI * j / degree);
+        }
+        xs[0] = b;
+        xs[degree] = a;
+        for (int j = 0; j <= degree; j++) {
+            ys[j] = f.applyAsDouble(xs[j]);
+        }
+
+        while (true) {
+            double[] midXs = new double[degree];
+            double[] midYs = new double[degree];
+            double error = 0;
+            for (int k = 0; k < degree; k++) {
+                midXs[k] = center + radius * Math.cos(Math.PI * (2 * k + 1) / (2 * degree));
+                midYs[k] = f.applyAsDouble(midXs[k]);
+                double estimate = Math.abs(lobattoValue(xs, ys, midXs[k]) - midYs[k]);
+                error = Double.isNaN(estimate) ? Double.POSITIVE_INFINITY : Math.max(error, estimate);
+            }
+            if (error <= tolerance) {
+                return new Fit(ascending(xs, ys), error);
+            }
+            if (degree >= MAX_DEGREE) {
+                throw new IllegalArgumentException(String.format(
+                        "Точность %.1e не достигнута на %d узлах (оценка %.1e).", tolerance, degree + 1, error));
+            }
+
+            double[] nextXs = new double[2 * degree + 1];
+            double[] nextYs = new double[2 * degree + 1];
+            for (int j = 0; j <= degree; j++) {
+                nextXs[2 * j] = xs[j];
+                nextYs[2 * j] = ys[j];
+            }
+            for (int k = 0; k < degree; k++) {
+                nextXs[2 * k + 1] = midXs[k];
+                nextYs[2 * k + 1] = midYs[k];
+            }
+            xs = nextXs;
+            ys = nextYs;
+            degree *= 2;
+        }
+    }
+
+    /** Барицентрическая формула с весами (-1)^j δ_j; x не совпадает с узлом. */
+    private static double lobattoValue(double[] xs, double[] ys, double x) {
+        double numerator = 0;
+        double denominator = 0;
+        int last = xs.length - 1;
+        for (int j = 0; j <= last; j++) {
+            double t = 1.0 / (x - xs[j]);
+            if (j == 0 || j == last) {
+                t *= 0.5;
+            }
+            if ((j & 1) != 0) {
+                t = -t;
+            }
+            numerator += t * ys[j];
+            denominator += t;
+        }
+        return numerator / denominator;
+    }
+
+    /** Узлы шли от b к a; таблица — по возрастанию x. */
+    private static DataSet ascending(double[] xs, double[] ys) {
+        int size = xs.length;
+        double[] sortedXs = new double[size];
+        double[] sortedYs = new double[size];
+        for (int j = 0; j < size; j++) {
+            sortedXs[j] = xs[size - 1 - j];
+            sortedYs[j] = ys[size - 1 - j];
+        }
+        return new DataSet(sortedXs, sortedYs);
+    }
+}
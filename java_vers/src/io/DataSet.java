@@ -1,4 +1,39 @@
 package io;
 
+import java.util.Arrays;
+import java.util.Objects;
 
-public record DataSet(double[] xs, double[] ys) {}
+public record DataSet(double[] xs, double[] ys, GridInfo grid) implements Nodes {
+
+    public DataSet(double[] xs, double[] ys) {
+        this(xs, ys, GridInfo.of(xs));
+    }
+
+    @Override
+    public long size() {
+        return xs.length;
+    }
+
+    @Override
+    public double x(long i) {
+        return xs[Math.toIntExact(i)];
+    }
+
+    @Override
+    public double y(long i) {
+        return ys[Math.toIntExact(i)];
+    }
+
+    @Override
+    public long locate(double x) {
+        int found = Arrays.binarySearch(xs, x);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    @Override
+    public DataSet window(long from, int count) {
+        Objects.checkFromIndexSize(from, count, xs.length);
+        int start = (int) from;
+        return new DataSet(Arrays.copyOfRange(xs, start, start + count), Arrays.copyOfRange(ys, start, start + count));
+    }
+}
@@ -0,0 +1,114 @@
+package io;
+
+/**
+ * Единая точка приёма таблицы от любого источника: проверки, сортировка
+ * по x и метаданные сетки за O(n log n) (O(n) для уже отсортированных данных).
+ */
+public final class DataSets {
+
+    static final double DUPLICATE_TOLERANCE = 1e-12;
+
+    private DataSets() {}
+
+    public static DataSet validated(double[] xValues, double[] yValues) {
+        return adopt(xValues.clone(), yValues.clone());
+    }
+
+    /** То же, что {@link #validated}, но без копирования: массивы принадлежат вызывающему. */
+    static DataSet adopt(double[] xs, double[] ys) {
+        if (xs.length < 2) {
+            throw new IllegalArgumentException("Нужно минимум две точки.");
+        }
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Количество x и y должно совпадать.");
+        }
+        for (double x : xs) {
+            if (!Double.isFinite(x)) {
+                throw new IllegalArgumentException("Найдены нечисловые x-значения.");
+            }
+        }
+
+        GridInfo grid = GridInfo.of(xs);
+        if (!grid.sorted()) {
+            sortByX(xs, ys);
+            grid = GridInfo.of(xs);
+        }
+        if (!grid.sorted() || grid.minSpacing() < DUPLICATE_TOLERANCE) {
+            throw new IllegalArgumentException("Найдены повторяющиеся x-значения.");
+        }
+        return new DataSet(xs, ys, grid);
+    }
+
+    /**
+     * Сетка копируется и проверяется: по каждой оси минимум два узла, узлы
+     * строго возрастают (строки и столбцы не переставляются), размеры
+     * {@code zs} — xs.length × ys.length.
+     */
+    public static GridDataSet validatedGrid(double[] xs, double[] ys, double[][] zs) {
+        GridInfo xGrid = axis(xs, "x");
+        GridInfo yGrid = axis(ys, "y");
+        if (zs.length != xs.length) {
+            throw new IllegalArgumentException("Число строк z должно совпадать с числом x.");
+        }
+        double[][] copy = new double[zs.length][];
+        for (int i = 0; i < zs.length; i++) {
+            if (zs[i].length != ys.length) {
+                throw new IllegalArgumentException("Строка z " + i + " должна содержать " + ys.length + " значений.");
+            }
+            copy[i] = zs[i].clone();
+        }
+        return new GridDataSet(xs.clone(), ys.clone(), copy, xGrid, yGrid);
+    }
+
+    private static GridInfo axis(double[] nodes, String name) {
+        if (nodes.length < 2) {
+            throw new IllegalArgumentException("Нужно минимум два узла по оси " + name + ".");
+        }
+        for (double node : nodes) {
+            if (!Double.isFinite(node)) {
+                throw new IllegalArgumentException("Найдены нечисловые " + name + "-значения.");
+            }
+        }
+        GridInfo grid = GridInfo.of(nodes);
+        if (!grid.sorted() || grid.minSpacing() < DUPLICATE_TOLERANCE) {
+            throw new IllegalArgumentException("Узлы по оси " + name + " должны строго возрастать.");
+        }
+        return grid;
+    }
+
+    /** Восходящая сортировка слиянием пар (x, y) по x; буферы меняются ролями на каждом проходе. */
+    private static void sortByX(double[] xs, double[] ys) {
+        int n = xs.length;
+        double[] xFrom = xs;
+        double[] yFrom = ys;
+        double[] xTo = new double[n];
+        double[] yTo = new double[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int left = 0; left < n; left += 2 * width) {
+                int mid = Math.min(left + width, n);
+                int right = Math.min(left + 2 * width, n);
+                int i = left;
+                int j = mid;
+                for (int k = left; k < right; k++) {
+                    if (i < mid && (j >= right || xFrom[i] <= xFrom[j])) {
+                        xTo[k] = xFrom[i];
+                        yTo[k] = yFrom[i++];
+                    } else {
+                        xTo[k] = xFrom[j];
+                        yTo[k] = yFrom[j++];
+                    }
+                }
+            }
+            double[] swap = xFrom;
+            xFrom = xTo;
+            xTo = swap;
+            swap = yFrom;
+            yFrom = yTo;
+            yTo = swap;
+        }
+        if (xFrom != xs) {
+            System.arraycopy(xFrom, 0, xs, 0, n);
+            System.arraycopy(yFrom, 0, ys, 0, n);
+        }
+    }
+}
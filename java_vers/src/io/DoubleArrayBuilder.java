@@ -0,0 +1,37 @@
+package io;
+
+import java.util.Arrays;
+
+/** Растущий массив double без упаковки в Double. */
+final class DoubleArrayBuilder {
+
+    private double[] values;
+    private int size;
+
+    DoubleArrayBuilder() {
+        this(16);
+    }
+
+    DoubleArrayBuilder(int capacity) {
+        values = new double[Math.max(capacity, 1)];
+    }
+
+    void add(double value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
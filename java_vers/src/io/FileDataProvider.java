@@ -1,13 +1,17 @@
 package io;
 
+import metrics.Metrics;
+import metrics.Span;
+import metrics.Timer;
+
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.Scanner;
 
 public class FileDataProvider implements DataProvider {
 
+    private static final Timer READ = Metrics.timer("io.file");
+
     private final Scanner scanner = new Scanner(System.in);
 
     @Override
@@ -17,16 +21,7 @@ public class FileDataProvider implements DataProvider {
             String filePath = scanner.nextLine().trim();
 
             try {
-                var lines = Files.readAllLines(Path.of(filePath));
-                if (lines.size() < 2) {
-                    throw new IllegalArgumentException("В файле должно быть минимум две строки.");
-                }
-
-                double[] xValues = parseLine(lines.get(0));
-                double[] yValues = parseLine(lines.get(1));
-
-                validate(xValues, yValues);
-                return new DataSet(xValues, yValues);
+                return read(Path.of(filePath));
 
             } catch (IOException e) {
                 System.out.println("Ошибка чтения файла: " + e.getMessage());
@@ -38,27 +33,17 @@ public class FileDataProvider implements DataProvider {
         }
     }
 
-    private static double[] parseLine(String line) {
-        return Arrays.stream(line.trim().split("\\s+"))
-                .mapToDouble(Double::parseDouble)
-                .toArray();
-    }
-
-    private static void validate(double[] xValues, double[] yValues) {
-        if (xValues.length < 2) {
-            throw new IllegalArgumentException("Нужно минимум две точки.");
-        }
-        if (xValues.length != yValues.length) {
-            throw new IllegalArgumentException("Количество x и y должно совпадать.");
-        }
-
-        final double tolerance = 1e-12;
-        for (int i = 0; i < xValues.length - 1; i++) {
-            for (int j = i + 1; j < xValues.length; j++) {
-                if (Math.abs(xValues[i] - xValues[j]) < tolerance) {
-                    throw new IllegalArgumentException("Найдены повторяющиеся x-значения.");
-                }
-            }
+    /**
+     * Таблица из файла: двоичный формат {@link BinaryTable} распознаётся по
+     * сигнатуре, остальное читается как текст из двух строк.
+     */
+    @SuppressWarnings("try")
+    public static DataSet read(Path path) throws IOException {
+        try (Span span = READ.start()) {
+            DataSet data = BinaryTable.isBinary(path)
+                    ? BinaryTable.read(path)
+                    : TextTableReader.read(path);
+            return DataSets.adopt(data.xs(), data.ys());
         }
     }
 }
@@ -0,0 +1,36 @@
+package io;
+
+/**
+ * Таблица в одинарной точности — для предпросмотра и массового вычисления,
+ * где узлы и точки запроса не помещаются в кэш и всё упирается в память.
+ * Вдвое меньше байт на узел; сетка ({@link GridInfo}) берётся из исходной
+ * таблицы в double, потому что округлённые до float x уже не проходят
+ * проверку равномерности с допуском {@link GridInfo#UNIFORM_TOLERANCE}.
+ */
+public record FloatDataSet(float[] xs, float[] ys, GridInfo grid) {
+
+    public static FloatDataSet of(DataSet data) {
+        return new FloatDataSet(narrow(data.xs()), narrow(data.ys()), data.grid());
+    }
+
+    /** Обратно в double; значения — уже округлённые до float. */
+    public DataSet widen() {
+        return new DataSet(widen(xs), widen(ys), grid);
+    }
+
+    public static float[] narrow(double[] values) {
+        float[] narrow = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            narrow[i] = (float) values[i];
+        }
+        return narrow;
+    }
+
+    public static double[] widen(float[] values) {
+        double[] wide = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            wide[i] = values[i];
+        }
+        return wide;
+    }
+}
@@ -1,11 +1,17 @@
 package io;
 
+import metrics.Metrics;
+import metrics.Span;
+import metrics.Timer;
+
 import java.util.Map;
 import java.util.Scanner;
 import java.util.function.DoubleUnaryOperator;
 
 public class FunctionDataProvider implements DataProvider {
 
+    private static final Timer GENERATE = Metrics.timer("io.function");
+
     private final Scanner scanner = new Scanner(System.in);
     private DoubleUnaryOperator selectedFunction;
 
@@ -17,6 +23,7 @@ public class FunctionDataProvider implements DataProvider {
     );
 
     @Override
+    @SuppressWarnings("try")
     public DataSet readData() {
         while (true) {
             try {
@@ -33,20 +40,33 @@ public class FunctionDataProvider implements DataProvider {
                     throw new IllegalArgumentException("a должно быть меньше b.");
                 }
 
+                if (askChebyshev()) {
+                    System.out.print("Введите требуемую точность (например 1e-8): ");
+                    double tolerance = Double.parseDouble(scanner.nextLine().trim());
+                    try (Span span = GENERATE.start()) {
+                        ChebyshevNodes.Fit fit = ChebyshevNodes.fit(selectedFunction, a, b, tolerance);
+                        System.out.printf("Узлов Чебышёва: %d, оценка погрешности %.1e%n",
+                                fit.data().xs().length, fit.estimatedError());
+                        return fit.data();
+                    }
+                }
+
                 System.out.print("Введите количество точек n (≥ 2): ");
                 int n = Integer.parseInt(scanner.nextLine().trim());
                 if (n < 2) {
                     throw new IllegalArgumentException("n должно быть ≥ 2.");
                 }
 
-                double step = (b - a) / (n - 1);
-                double[] xValues = new double[n];
-                double[] yValues = new double[n];
-                for (int i = 0; i < n; i++) {
-                    xValues[i] = a + i * step;
-                    yValues[i] = selectedFunction.applyAsDouble(xValues[i]);
+                try (Span span = GENERATE.start()) {
+                    double step = (b - a) / (n - 1);
+                    double[] xValues = new double[n];
+                    double[] yValues = new double[n];
+                    for (int i = 0; i < n; i++) {
+                        xValues[i] = a + i * step;
+                        yValues[i] = selectedFunction.applyAsDouble(xValues[i]);
+                    }
+                    return new DataSet(xValues, yValues);
                 }
-                return new DataSet(xValues, yValues);
 
             } catch (NumberFormatException e) {
                 System.out.println("Ошибка: это не число. Попробуйте ещё раз.");
@@ -73,6 +93,23 @@ public class FunctionDataProvider implements DataProvider {
         }
     }
 
+    /**
+     * Равноотстоящие узлы с заданным n или узлы Чебышёва с заданной точностью:
+     * во втором случае n подбирается само, и узлов обычно нужно намного меньше.
+     */
+    private boolean askChebyshev() {
+        while (true) {
+            System.out.println("Узлы:\n"
+                    + "  1 — равноотстоящие, задать количество\n"
+                    + "  2 — Чебышёва, задать точность");
+            switch (scanner.nextLine().trim()) {
+                case "1": return false;
+                case "2": return true;
+                default : System.out.println("Некорректный выбор.");
+            }
+        }
+    }
+
     private record FunctionItem(String name, DoubleUnaryOperator function) {}
 
     public DoubleUnaryOperator lastFunction() {
@@ -0,0 +1,27 @@
+package io;
+
+/**
+ * Таблица на прямоугольной сетке: {@code zs[i][j] = z(xs[i], ys[j])}.
+ * Проверки — в {@link DataSets#validatedGrid}; здесь только сведения о
+ * сетках по осям и одномерные срезы для методов из пакета {@code methods}.
+ */
+public record GridDataSet(double[] xs, double[] ys, double[][] zs, GridInfo xGrid, GridInfo yGrid) {
+
+    public GridDataSet(double[] xs, double[] ys, double[][] zs) {
+        this(xs, ys, zs, GridInfo.of(xs), GridInfo.of(ys));
+    }
+
+    /** Срез вдоль x при y = ys[j]; значения копируются из столбца {@code zs}. */
+    public DataSet alongX(int j) {
+        double[] values = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = zs[i][j];
+        }
+        return new DataSet(xs, values, xGrid);
+    }
+
+    /** Срез вдоль y при x = xs[i] — строка {@code zs[i]} без копирования. */
+    public DataSet alongY(int i) {
+        return new DataSet(ys, zs[i], yGrid);
+    }
+}
@@ -0,0 +1,47 @@
+package io;
+
+/**
+ * Сведения о сетке узлов, которые считаются один раз при создании таблицы.
+ *
+ * @param sorted           x строго возрастают
+ * @param uniform          узлы равноотстоящие (с относительным допуском на округление)
+ * @param step             средний шаг (x_max - x_min) / (n - 1) для отсортированной сетки, иначе NaN
+ * @param min              наименьший x
+ * @param max              наибольший x
+ * @param minSpacing       наименьшее расстояние между соседними узлами (NaN, если не отсортированы)
+ * @param spacingDeviation наибольшее |x_{i+1} - x_i - step| / |step|
+ */
+public record GridInfo(boolean sorted, boolean uniform, double step,
+                       double min, double max, double minSpacing, double spacingDeviation) {
+
+    static final double UNIFORM_TOLERANCE = 1e-9;
+
+    public static GridInfo of(double[] xs) {
+        int n = xs.length;
+        if (n == 0) {
+            return new GridInfo(true, false, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+        }
+        boolean sorted = true;
+        double min = xs[0];
+        double max = xs[0];
+        double minSpacing = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < n; i++) {
+            double gap = xs[i] - xs[i - 1];
+            sorted &= gap > 0;
+            minSpacing = Math.min(minSpacing, gap);
+            min = Math.min(min, xs[i]);
+            max = Math.max(max, xs[i]);
+        }
+        if (!sorted || n < 2) {
+            return new GridInfo(sorted, false, Double.NaN, min, max, Double.NaN, Double.NaN);
+        }
+
+        double step = (max - min) / (n - 1);
+        double deviation = 0.0;
+        for (int i = 1; i < n; i++) {
+            deviation = Math.max(deviation, Math.abs(xs[i] - xs[i - 1] - step));
+        }
+        deviation /= step;
+        return new GridInfo(true, deviation <= UNIFORM_TOLERANCE, step, min, max, minSpacing, deviation);
+    }
+}
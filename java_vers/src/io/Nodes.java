@@ -0,0 +1,47 @@
+package io;
+
+import java.util.Objects;
+
+/**
+ * Узлы таблицы с индексом типа long — общий доступ к {@link DataSet} на куче
+ * и к {@link OffHeapTable} вне её. Методам, которым нужны только соседние
+ * узлы (кусочная интерполяция), этого достаточно: таблица не обязана
+ * помещаться в массив.
+ */
+public interface Nodes {
+
+    long size();
+
+    double x(long i);
+
+    double y(long i);
+
+    GridInfo grid();
+
+    /** Индекс последнего узла с x_i ≤ x, −1 левее таблицы; узлы должны быть отсортированы. */
+    default long locate(double x) {
+        long low = 0;
+        long high = size() - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            if (x(mid) <= x) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /** Узлы [from, from + count) — копия на куче, с которой работает любой метод. */
+    default DataSet window(long from, int count) {
+        Objects.checkFromIndexSize(from, count, size());
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = x(from + i);
+            ys[i] = y(from + i);
+        }
+        return new DataSet(xs, ys);
+    }
+}
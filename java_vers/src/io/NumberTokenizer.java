@@ -0,0 +1,136 @@
+package io;
+
+import java.util.Arrays;
+
+/**
+ * Разбор чисел, разделённых пробелами, прямо в массив double — без split,
+ * строк на каждое число и потоков. Используется и консольным, и файловым
+ * вводом. Ошибки те же, что у {@link Double#parseDouble}.
+ */
+public final class NumberTokenizer {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private char[] token = new char[32];
+    private int tokenLength;
+
+    NumberTokenizer() {}
+
+    /** Все числа строки; пустая строка — NumberFormatException, как раньше. */
+    public static double[] parseLine(CharSequence line) {
+        NumberTokenizer tokenizer = new NumberTokenizer();
+        DoubleArrayBuilder values = new DoubleArrayBuilder();
+        for (int i = 0, length = line.length(); i < length; i++) {
+            tokenizer.accept(line.charAt(i), values);
+        }
+        tokenizer.finish(values);
+        if (values.size() == 0) {
+            throw new NumberFormatException("empty String");
+        }
+        return values.toArray();
+    }
+
+    /** Очередной символ входа; пробельный символ завершает текущее число. */
+    void accept(char c, DoubleArrayBuilder target) {
+        if (isSeparator(c)) {
+            finish(target);
+            return;
+        }
+        if (tokenLength == token.length) {
+            token = Arrays.copyOf(token, token.length * 2);
+        }
+        token[tokenLength++] = c;
+    }
+
+    void finish(DoubleArrayBuilder target) {
+        if (tokenLength > 0) {
+            target.add(parseDouble(token, tokenLength));
+            tokenLength = 0;
+        }
+    }
+
+    /** Те же символы, что \s в регулярных выражениях. */
+    static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == 0x0B;
+    }
+
+    /**
+     * Быстрый разбор обычной десятичной записи: мантисса до 2^53 и порядок
+     * до 10^22 дают точно округлённый результат одним умножением или делением.
+     * Всё остальное (длинные мантиссы, NaN, hex) — через Double.parseDouble.
+     */
+    static double parseDouble(char[] chars, int length) {
+        int i = 0;
+        boolean negative = false;
+        if (chars[0] == '-' || chars[0] == '+') {
+            negative = chars[0] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        for (; i < length; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    if (seenPoint) scale--;
+                    continue;
+                }
+                if (++digits > 18) {
+                    return fallback(chars, length);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (seenPoint) scale--;
+            } else if (c == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+        if (!seenDigit) {
+            return fallback(chars, length);
+        }
+        if (i < length) {
+            if (chars[i] != 'e' && chars[i] != 'E' || i + 1 == length) {
+                return fallback(chars, length);
+            }
+            i++;
+            boolean negativeExponent = false;
+            if (chars[i] == '-' || chars[i] == '+') {
+                negativeExponent = chars[i] == '-';
+                i++;
+            }
+            if (i == length) {
+                return fallback(chars, length);
+            }
+            int exponent = 0;
+            for (; i < length; i++) {
+                char c = chars[i];
+                if (c < '0' || c > '9' || exponent > 1000) {
+                    return fallback(chars, length);
+                }
+                exponent = exponent * 10 + (c - '0');
+            }
+            scale += negativeExponent ? -exponent : exponent;
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (mantissa > (1L << 53) || scale < -22 || scale > 22) {
+            return fallback(chars, length);
+        }
+        double value = scale >= 0 ? mantissa * POWERS_OF_TEN[scale] : mantissa / POWERS_OF_TEN[-scale];
+        return negative ? -value : value;
+    }
+
+    private static double fallback(char[] chars, int length) {
+        return Double.parseDouble(new String(chars, 0, length));
+    }
+}
@@ -0,0 +1,280 @@
+package io;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * Таблица вне кучи — для таблиц больше 2³¹ узлов или больше самой кучи.
+ * Узлы лежат в прямых буферах ({@link #allocate}) или в файле формата
+ * {@link BinaryTable}, отображённом в память ({@link #map}); сборщик мусора
+ * их не копирует и не просматривает. Один буфер адресует не больше 2 ГиБ,
+ * поэтому каждый столбец разбит на куски по 2^{@value #CHUNK_SHIFT} чисел
+ * и индекс типа long делится на номер куска и смещение в нём.
+ * <p>
+ * Узлы должны строго возрастать: сортировать таблицу такого размера на месте
+ * незачем, её стоит записать уже отсортированной. Сетка ({@link GridInfo})
+ * считается одним проходом при открытии.
+ * <p>
+ * {@link #close} освобождает память сразу: прямые буферы и отображения файла
+ * снимаются через {@code sun.misc.Unsafe#invokeCleaner} из модуля
+ * {@code jdk.unsupported}, не дожидаясь GC. Если модуль недоступен, память
+ * вернётся системе, когда GC соберёт недостижимые буферы. После закрытия
+ * чтение бросает IllegalStateException.
+ * <p>
+ * Читают такую таблицу через {@link Nodes} только кусочные методы
+ * ({@code PiecewiseMethod}); остальным нужна копия на куче — {@link #window}.
+ * <p>
+ * Размер куска задаётся только ради тестов: чтобы проверить переходы через
+ * границы кусков, не выделяя гигабайты, пакетные фабрики принимают сдвиг.
+ */
+public final class OffHeapTable implements Nodes, AutoCloseable {
+
+    /** 2^27 чисел — 1 ГиБ на кусок. */
+    static final int CHUNK_SHIFT = 27;
+
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    private final long size;
+    private final int shift;
+    private final long mask;
+    /** Сами прямые буферы кусков — освобождать можно только их, а не представления double. */
+    private final ByteBuffer[] memory;
+    private final DoubleBuffer[] xs;
+    private final DoubleBuffer[] ys;
+    private final GridInfo grid;
+    /** volatile — чтобы поток, закрывший таблицу, не оставил другим потокам устаревшее «открыта». */
+    private volatile boolean closed;
+
+    private OffHeapTable(long size, int shift, ByteBuffer[] xChunks, ByteBuffer[] yChunks) {
+        this.size = size;
+        this.shift = shift;
+        this.mask = (1L << shift) - 1;
+        this.memory = new ByteBuffer[xChunks.length + yChunks.length];
+        System.arraycopy(xChunks, 0, memory, 0, xChunks.length);
+        System.arraycopy(yChunks, 0, memory, xChunks.length, yChunks.length);
+        this.xs = views(xChunks);
+        this.ys = views(yChunks);
+        this.grid = scan();
+    }
+
+    /** Таблица из n узлов (x(i), y(i)) в прямых буферах. */
+    public static OffHeapTable allocate(long n, LongToDoubleFunction x, LongToDoubleFunction y) {
+        return allocate(n, x, y, CHUNK_SHIFT);
+    }
+
+    /** То же с кусками по 2^chunkShift чисел. */
+    static OffHeapTable allocate(long n, LongToDoubleFunction x, LongToDoubleFunction y, int chunkShift) {
+        checkShift(chunkShift);
+        if (n < 2) {
+            throw new IllegalArgumentException("Нужно минимум две точки.");
+        }
+        return new OffHeapTable(n, chunkShift, fill(n, x, chunkShift), fill(n, y, chunkShift));
+    }
+
+    /** Отображает двоичную таблицу в память без копирования; файл только читается. */
+    public static OffHeapTable map(Path path) throws IOException {
+        return map(path, CHUNK_SHIFT);
+    }
+
+    /** То же с кусками по 2^chunkShift чисел. */
+    static OffHeapTable map(Path path, int chunkShift) throws IOException {
+        checkShift(chunkShift);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long n = BinaryTable.count(channel);
+            if (n < 2) {
+                throw new IllegalArgumentException("Нужно минимум две точки.");
+            }
+            return new OffHeapTable(n, chunkShift,
+                    map(channel, BinaryTable.HEADER_BYTES, n, chunkShift),
+                    map(channel, BinaryTable.HEADER_BYTES + 8 * n, n, chunkShift));
+        }
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public double x(long i) {
+        return read(xs, i);
+    }
+
+    @Override
+    public double y(long i) {
+        return read(ys, i);
+    }
+
+    @Override
+    public GridInfo grid() {
+        return grid;
+    }
+
+    /** Кусок за куском блочным чтением, без обращения к каждому узлу. */
+    @Override
+    public DataSet window(long from, int count) {
+        Objects.checkFromIndexSize(from, count, size);
+        double[] windowXs = new double[count];
+        double[] windowYs = new double[count];
+        copy(xs, from, windowXs);
+        copy(ys, from, windowYs);
+        return new DataSet(windowXs, windowYs);
+    }
+
+    /**
+     * Освобождает память таблицы; повторный вызов ничего не делает. Чтения,
+     * начатые после возврата из close в любом потоке, бросают
+     * IllegalStateException. Чтение, уже идущее в другом потоке, обратилось
+     * бы к освобождённой памяти и могло бы уронить JVM, поэтому таблицу
+     * закрывает её владелец и только после того, как все читатели закончили.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Arrays.fill(xs, null);
+        Arrays.fill(ys, null);
+        for (int i = 0; i < memory.length; i++) {
+            release(memory[i]);
+            memory[i] = null;
+        }
+    }
+
+    private double read(DoubleBuffer[] column, long i) {
+        if (closed) {
+            throw new IllegalStateException("Таблица уже закрыта.");
+        }
+        Objects.checkIndex(i, size);
+        return column[(int) (i >>> shift)].get((int) (i & mask));
+    }
+
+    private void copy(DoubleBuffer[] column, long from, double[] target) {
+        if (closed) {
+            throw new IllegalStateException("Таблица уже закрыта.");
+        }
+        int done = 0;
+        while (done < target.length) {
+            long position = from + done;
+            int offset = (int) (position & mask);
+            int count = (int) Math.min(target.length - done, mask + 1 - offset);
+            column[(int) (position >>> shift)].get(offset, target, done, count);
+            done += count;
+        }
+    }
+
+    private static ByteBuffer[] fill(long n, LongToDoubleFunction values, int shift) {
+        ByteBuffer[] chunks = new ByteBuffer[chunks(n, shift)];
+        for (int c = 0; c < chunks.length; c++) {
+            long start = (long) c << shift;
+            int length = (int) Math.min(1L << shift, n - start);
+            chunks[c] = ByteBuffer.allocateDirect(8 * length).order(ByteOrder.nativeOrder());
+            DoubleBuffer chunk = chunks[c].asDoubleBuffer();
+            for (int k = 0; k < length; k++) {
+                chunk.put(k, values.applyAsDouble(start + k));
+            }
+        }
+        return chunks;
+    }
+
+    private static ByteBuffer[] map(FileChannel channel, long position, long n, int shift) throws IOException {
+        ByteBuffer[] chunks = new ByteBuffer[chunks(n, shift)];
+        for (int c = 0; c < chunks.length; c++) {
+            long start = (long) c << shift;
+            long length = Math.min(1L << shift, n - start);
+            chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, position + 8 * start, 8 * length)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return chunks;
+    }
+
+    /** Порядок байтов задан при создании куска, представление его наследует. */
+    private static DoubleBuffer[] views(ByteBuffer[] chunks) {
+        DoubleBuffer[] views = new DoubleBuffer[chunks.length];
+        for (int c = 0; c < chunks.length; c++) {
+            views[c] = chunks[c].asDoubleBuffer();
+        }
+        return views;
+    }
+
+    private static void release(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Не удалось освободить память таблицы.", e);
+        }
+    }
+
+    /**
+     * {@code Unsafe#invokeCleaner}, привязанный к экземпляру Unsafe, или null,
+     * если {@code jdk.unsupported} недоступен. Ищется отражением: прямое
+     * обращение к sun.misc.Unsafe javac помечает неподавляемым предупреждением.
+     */
+    private static MethodHandle invokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field instance = unsafeClass.getDeclaredField("theUnsafe");
+            instance.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(instance.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static int chunks(long n, int shift) {
+        return Math.toIntExact((n + (1L << shift) - 1) >>> shift);
+    }
+
+    /** Кусок — один буфер, его размер в байтах должен уместиться в int. */
+    private static void checkShift(int chunkShift) {
+        if (chunkShift < 0 || chunkShift > CHUNK_SHIFT) {
+            throw new IllegalArgumentException("Chunk shift must be in [0, " + CHUNK_SHIFT + "]: " + chunkShift);
+        }
+    }
+
+    /**
+     * Те же сведения, что {@link GridInfo#of}, за один проход: шаг известен
+     * заранее по крайним узлам, поэтому отклонение считается сразу.
+     */
+    private GridInfo scan() {
+        double first = xs[0].get(0);
+        double last = xs[(int) ((size - 1) >>> shift)].get((int) ((size - 1) & mask));
+        double step = (last - first) / (size - 1);
+        double previous = first;
+        double minSpacing = Double.POSITIVE_INFINITY;
+        double deviation = 0.0;
+        for (int c = 0; c < xs.length; c++) {
+            DoubleBuffer chunk = xs[c];
+            for (int k = c == 0 ? 1 : 0; k < chunk.limit(); k++) {
+                double x = chunk.get(k);
+                double gap = x - previous;
+                if (!(gap >= DataSets.DUPLICATE_TOLERANCE) || !Double.isFinite(gap)) {
+                    throw new IllegalArgumentException("Узлы таблицы вне кучи должны строго возрастать.");
+                }
+                minSpacing = Math.min(minSpacing, gap);
+                deviation = Math.max(deviation, Math.abs(gap - step));
+                previous = x;
+            }
+        }
+        deviation /= step;
+        return new GridInfo(true, deviation <= GridInfo.UNIFORM_TOLERANCE, step, first, last, minSpacing, deviation);
+    }
+}
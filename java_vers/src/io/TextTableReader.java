@@ -0,0 +1,68 @@
+package io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Потоковое чтение текстовой таблицы (первая строка — x, вторая — y).
+ * Файл читается блоками в один буфер, байты сразу идут в {@link NumberTokenizer},
+ * без строк на каждое число и без загрузки файла целиком.
+ */
+public final class TextTableReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final DoubleArrayBuilder xs = new DoubleArrayBuilder();
+    private final DoubleArrayBuilder ys = new DoubleArrayBuilder();
+    private final NumberTokenizer tokenizer = new NumberTokenizer();
+    private int line;
+
+    private TextTableReader() {}
+
+    public static DataSet read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new TextTableReader().parse(channel);
+        }
+    }
+
+    private DataSet parse(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        boolean lineStarted = false;
+        while (line < 2 && channel.read(buffer) >= 0) {
+            buffer.flip();
+            while (buffer.hasRemaining() && line < 2) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    finishLine();
+                    lineStarted = false;
+                } else {
+                    tokenizer.accept((char) (b & 0xFF), current());
+                    lineStarted = true;
+                }
+            }
+            buffer.clear();
+        }
+        if (line < 2 && lineStarted) {
+            finishLine();
+        }
+        if (line < 2) {
+            throw new IllegalArgumentException("В файле должно быть минимум две строки.");
+        }
+        return new DataSet(xs.toArray(), ys.toArray());
+    }
+
+    private DoubleArrayBuilder current() {
+        return line == 0 ? xs : ys;
+    }
+
+    private void finishLine() {
+        tokenizer.finish(current());
+        if (current().size() == 0) {
+            throw new NumberFormatException("empty String");
+        }
+        line++;
+    }
+}
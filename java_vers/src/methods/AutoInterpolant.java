@@ -0,0 +1,146 @@
+package methods;
+
+/**
+ * Интерполянт {@link AutoMethod}: общая таблица разностей до порядка L и
+ * выбор формулы по ближайшему к x узлу x_m и t = (x - x_m) / h.
+ * {@link #choose} сообщает, какая формула отвечает за точку.
+ * <p>
+ * Центральные формулы не хранятся по штуке на узел — это ещё n · L чисел:
+ * коэффициенты берутся из таблицы при вычислении, а в {@link #valuesAt}
+ * один раз на серию соседних точек с одной формулой.
+ */
+public final class AutoInterpolant implements AdaptiveInterpolant {
+
+    public enum Choice {
+        NEWTON_FORWARD("newton-forward"),
+        BESSEL("bessel"),
+        STIRLING("stirling"),
+        NEWTON_BACKWARD("newton-backward");
+
+        private final String id;
+
+        Choice(String id) {
+            this.id = id;
+        }
+
+        /** Идентификатор того же метода в {@link MethodRegistry}. */
+        public String id() {
+            return id;
+        }
+    }
+
+    /**
+     * Номера формул: Ньютон вперёд и назад — отрицательные, Стирлинг в узле m —
+     * 2m, Бессель между узлами right - 1 и right — 2·right - 1.
+     */
+    private static final int FORWARD = -1;
+    private static final int BACKWARD = -2;
+
+    private final double origin;
+    private final double h;
+    private final DifferenceRows rows;
+    private final double tolerance;
+    /** Центральный шаблон порядка L помещается в таблицу для узлов half..n-1-half. */
+    private final int half;
+    private final AdaptiveInterpolant forward;
+    private final AdaptiveInterpolant backward;
+
+    AutoInterpolant(double origin, double h, DifferenceRows rows, double tolerance) {
+        this.origin = origin;
+        this.h = h;
+        this.rows = rows;
+        this.tolerance = tolerance;
+        this.half = Math.max(1, (rows.maxOrder() + 1) / 2);
+        this.forward = NewtonForwardMethod.fromDiagonal(origin, h, rows.top(), rows.maxOrder(), tolerance);
+        this.backward = NewtonBackwardMethod.fromDiagonal(
+                origin + (rows.size() - 1) * h, h, rows.bottom(), rows.maxOrder(), tolerance);
+    }
+
+    public Choice choose(double x) {
+        int slot = slot(x);
+        if (slot == FORWARD) {
+            return Choice.NEWTON_FORWARD;
+        }
+        if (slot == BACKWARD) {
+            return Choice.NEWTON_BACKWARD;
+        }
+        return slot % 2 == 0 ? Choice.STIRLING : Choice.BESSEL;
+    }
+
+    @Override
+    public Evaluation evaluate(double x) {
+        return formula(slot(x)).evaluate(x);
+    }
+
+    @Override
+    public double value(double x) {
+        return formula(slot(x)).value(x);
+    }
+
+    /** Подряд идущие точки с одной формулой считаются одним её пакетом. */
+    @Override
+    public void valuesAt(double[] queries, int offset, int length, double[] out) {
+        Batches.checkRange(queries, offset, length, out);
+        int end = offset + length;
+        int runStart = offset;
+        while (runStart < end) {
+            int slot = slot(queries[runStart]);
+            int runEnd = runStart + 1;
+            while (runEnd < end && slot(queries[runEnd]) == slot) {
+                runEnd++;
+            }
+            formula(slot).valuesAt(queries, runStart, runEnd - runStart, out);
+            runStart = runEnd;
+        }
+    }
+
+    @Override
+    public int maxOrder() {
+        return rows.maxOrder();
+    }
+
+    @Override
+    public long retainedBytes() {
+        return Footprint.OBJECT + rows.retainedBytes() + forward.retainedBytes() + backward.retainedBytes();
+    }
+
+    /**
+     * Ближайший узел x_m. В первых и последних half узлах центральный
+     * шаблон не помещается — там Ньютон вперёд от x_0 или назад от x_{n-1}
+     * на тех же L + 1 узлах у края. Иначе Стирлинг в x_m при |t| ≤ 0.25 и
+     * Бессель между x_m и соседним узлом со стороны x при 0.25 < |t| ≤ 0.5.
+     */
+    private int slot(double x) {
+        int last = rows.size() - 1;
+        double position = (x - origin) / h;
+        int m = (int) Math.max(0, Math.min(last, Math.rint(position)));
+        if (m < half) {
+            return FORWARD;
+        }
+        if (m > last - half) {
+            return BACKWARD;
+        }
+        double t = position - m;
+        if (Math.abs(t) <= 0.25) {
+            return 2 * m;
+        }
+        return 2 * (t < 0 ? m : m + 1) - 1;
+    }
+
+    private AdaptiveInterpolant formula(int slot) {
+        if (slot == FORWARD) {
+            return forward;
+        }
+        if (slot == BACKWARD) {
+            return backward;
+        }
+        int n = rows.size();
+        int order = rows.maxOrder();
+        if (slot % 2 == 0) {
+            int m = slot / 2;
+            return StirlingMethod.around(rows, n, m, origin + m * h, h, order, tolerance);
+        }
+        int right = (slot + 1) / 2;
+        return BesselMethod.between(rows, n, right, origin + (right - 0.5) * h, h, order, tolerance);
+    }
+}
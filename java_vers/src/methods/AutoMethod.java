@@ -0,0 +1,57 @@
+package methods;
+
+import io.DataSet;
+
+/**
+ * Выбор формулы по положению точки: у ближайшего к x узла x_m —
+ * Стирлинг при |t| ≤ 0.25 и Бессель при 0.25 < |t| ≤ 0.5, где
+ * t = (x - x_m) / h; Бессель берётся между x_m и соседом со стороны x.
+ * Так |t| центральной формулы всегда мал, и сумма сходится за несколько
+ * членов в любом месте таблицы. Ньютон вперёд и назад остаются только для
+ * первых и последних узлов, где центральный шаблон не помещается.
+ * <p>
+ * Порядок всех формул ограничен локальным шаблоном L (по умолчанию
+ * {@value #DEFAULT_ORDER}, то есть L + 1 узлов вокруг x): дальние узлы
+ * гладкой таблице ничего не добавляют, а у формул Ньютона от края с
+ * большим t только раздувают ошибки округления. Все формулы читают одну
+ * таблицу разностей — n · (L + 1) чисел, один проход по данным.
+ */
+public class AutoMethod implements InterpolationMethod {
+
+    /** Порядок по умолчанию: шаблон из 17 узлов вокруг ближайшего к x. */
+    public static final int DEFAULT_ORDER = 16;
+
+    /** Допуск по умолчанию — тот же, что у Стирлинга. */
+    private static final double EPS = 1e-12;
+
+    private final int maxOrder;
+    private final double tolerance;
+
+    /** Порядок до {@value #DEFAULT_ORDER}; сумма обрывается, когда члены меньше 1e-12. */
+    public AutoMethod() {
+        this(DEFAULT_ORDER, EPS);
+    }
+
+    /**
+     * @param maxOrder  старший порядок разностей в каждой формуле (не меньше 1);
+     *                  таблица разностей занимает n · (maxOrder + 1) чисел
+     * @param tolerance сумма обрывается после двух членов подряд меньше него; 0 — не обрывается
+     */
+    public AutoMethod(int maxOrder, double tolerance) {
+        Truncation.check(maxOrder, tolerance);
+        this.maxOrder = maxOrder;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public boolean supports(DataSet data) {
+        return data.grid().uniform();
+    }
+
+    @Override
+    public AutoInterpolant prepare(DataSet data) {
+        GaussUtils.requireEquallySpaced(data, "Automatic");
+        return new AutoInterpolant(data.xs()[0], data.grid().step(),
+                DifferenceRows.of(data.ys(), maxOrder), tolerance);
+    }
+}
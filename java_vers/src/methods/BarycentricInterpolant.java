@@ -0,0 +1,140 @@
+package methods;
+
+import java.util.Arrays;
+
+/**
+ * Подготовленный барицентрический интерполянт: O(n) на значение,
+ * O(n) на добавление или удаление узла (веса пересчитываются,
+ * а не строятся заново). Объект неизменяем — обновления возвращают новый.
+ */
+public final class BarycentricInterpolant implements Interpolant {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] weights;
+
+    BarycentricInterpolant(double[] xs, double[] ys, double[] weights) {
+        this.xs = xs;
+        this.ys = ys;
+        this.weights = weights;
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    @Override
+    public long retainedBytes() {
+        return Footprint.of(xs, ys, weights);
+    }
+
+    @Override
+    public double value(double x) {
+        double numerator = 0.0;
+        double denominator = 0.0;
+        for (int j = 0; j < xs.length; j++) {
+            double dx = x - xs[j];
+            if (dx == 0.0) {
+                return ys[j];
+            }
+            double t = weights[j] / dx;
+            numerator += t * ys[j];
+            denominator += t;
+        }
+        return numerator / denominator;
+    }
+
+    @Override
+    public void valuesAt(double[] queries, int offset, int length, double[] out) {
+        Batches.checkRange(queries, offset, length, out);
+        double[] numerator = new double[Math.min(length, Batches.CHUNK)];
+        double[] denominator = new double[numerator.length];
+
+        for (int start = offset, end = offset + length; start < end; start += Batches.CHUNK) {
+            int count = Math.min(Batches.CHUNK, end - start);
+            Arrays.fill(numerator, 0, count, 0.0);
+            Arrays.fill(denominator, 0, count, 0.0);
+            for (int j = 0; j < xs.length; j++) {
+                double node = xs[j];
+                double weight = weights[j];
+                double y = ys[j];
+                for (int i = 0; i < count; i++) {
+                    double t = weight / (queries[start + i] - node);
+                    numerator[i] += t * y;
+                    denominator[i] += t;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                double result = numerator[i] / denominator[i];
+                // точка совпала с узлом: деление на ноль дало NaN
+                out[start + i] = Double.isNaN(result) ? value(queries[start + i]) : result;
+            }
+        }
+    }
+
+    /** Интерполянт по тем же узлам и ещё одному (x, y). */
+    public BarycentricInterpolant withNode(double x, double y) {
+        int size = xs.length;
+        double[] newXs = Arrays.copyOf(xs, size + 1);
+        double[] newYs = Arrays.copyOf(ys, size + 1);
+        double[] newWeights = new double[size + 1];
+        newXs[size] = x;
+        newYs[size] = y;
+
+        int ref = 0;
+        for (int j = 0; j < size; j++) {
+            double dx = xs[j] - x;
+            if (dx == 0.0) {
+                throw new IllegalArgumentException("Node x = " + x + " is already present.");
+            }
+            newWeights[j] = weights[j] / dx;
+            if (Math.abs(newWeights[j]) > Math.abs(newWeights[ref])) {
+                ref = j;
+            }
+        }
+
+        // w_new / w_ref = -Π_{k ≠ ref} (x_ref - x_k) / (x - x_k)
+        double ratio = -1.0;
+        for (int k = 0; k < size; k++) {
+            if (k != ref) {
+                ratio *= (xs[ref] - xs[k]) / (x - xs[k]);
+            }
+        }
+        newWeights[size] = newWeights[ref] * ratio;
+        return new BarycentricInterpolant(newXs, newYs, normalize(newWeights));
+    }
+
+    /** Интерполянт без узла с номером {@code index}. */
+    public BarycentricInterpolant withoutNode(int index) {
+        int size = xs.length;
+        if (size <= 2) {
+            throw new IllegalArgumentException("Interpolant must keep at least two nodes.");
+        }
+        double removed = xs[index];
+        double[] newXs = new double[size - 1];
+        double[] newYs = new double[size - 1];
+        double[] newWeights = new double[size - 1];
+        for (int j = 0, i = 0; j < size; j++) {
+            if (j == index) continue;
+            newXs[i] = xs[j];
+            newYs[i] = ys[j];
+            newWeights[i] = weights[j] * (xs[j] - removed);
+            i++;
+        }
+        return new BarycentricInterpolant(newXs, newYs, normalize(newWeights));
+    }
+
+    /** Веса определены с точностью до общего множителя — держим максимум равным 1. */
+    static double[] normalize(double[] weights) {
+        double max = 0.0;
+        for (double w : weights) {
+            max = Math.max(max, Math.abs(w));
+        }
+        if (max > 0.0 && Double.isFinite(max)) {
+            for (int j = 0; j < weights.length; j++) {
+                weights[j] /= max;
+            }
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,145 @@
+package methods;
+
+import io.DataSet;
+
+/**
+ * Многочлен Лагранжа во второй (барицентрической) форме.
+ * Веса считаются один раз: O(n) для равноотстоящих узлов
+ * (биномиальные коэффициенты) и для узлов Чебышёва (явные формулы,
+ * сетка распознаётся за O(n)), O(n²) для произвольных.
+ */
+public class BarycentricLagrangeMethod implements InterpolationMethod {
+
+    private static final int RESCALE_EXPONENT = 256;
+    /** Допуск распознавания сетки Чебышёва, в долях полуширины отрезка. */
+    private static final double CHEBYSHEV_TOLERANCE = 1e-10;
+
+    @Override
+    public BarycentricInterpolant prepare(DataSet data) {
+        double[] xs = data.xs();
+        double[] weights;
+        if (data.grid().uniform()) {
+            weights = uniformWeights(xs.length);
+        } else if (data.grid().sorted() && isChebyshevLobatto(xs)) {
+            weights = chebyshevLobattoWeights(xs.length);
+        } else if (data.grid().sorted() && isChebyshevGauss(xs)) {
+            weights = chebyshevGaussWeights(xs.length);
+        } else {
+            weights = generalWeights(xs);
+        }
+        return new BarycentricInterpolant(xs.clone(), data.ys().clone(), weights);
+    }
+
+    /** x_j = c - r cos(jπ/(n-1)) — экстремумы многочлена Чебышёва, концы отрезка входят. */
+    static boolean isChebyshevLobatto(double[] xs) {
+        int size = xs.length;
+        if (size < 3) {
+            return false;
+        }
+        double center = 0.5 * (xs[0] + xs[size - 1]);
+        double radius = 0.5 * (xs[size - 1] - xs[0]);
+        for (int j = 0; j < size; j++) {
+            double node = center - radius * Math.cos(Math.PI * j / (size - 1));
+            if (!(Math.abs(xs[j] - node) <= CHEBYSHEV_TOLERANCE * radius)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** x_j = c - R cos((2j+1)π/(2n)) — нули многочлена Чебышёва, концы не входят. */
+    static boolean isChebyshevGauss(double[] xs) {
+        int size = xs.length;
+        if (size < 3) {
+            return false;
+        }
+        double center = 0.5 * (xs[0] + xs[size - 1]);
+        double radius = 0.5 * (xs[size - 1] - xs[0]) / Math.cos(Math.PI / (2 * size));
+        for (int j = 0; j < size; j++) {
+            double node = center - radius * Math.cos(Math.PI * (2 * j + 1) / (2 * size));
+            if (!(Math.abs(xs[j] - node) <= CHEBYSHEV_TOLERANCE * radius)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** w_j = (-1)^j δ_j, δ = 1/2 на концах. */
+    private static double[] chebyshevLobattoWeights(int size) {
+        double[] weights = new double[size];
+        for (int j = 0; j < size; j++) {
+            weights[j] = (j % 2 == 0) ? 1.0 : -1.0;
+        }
+        weights[0] *= 0.5;
+        weights[size - 1] *= 0.5;
+        return weights;
+    }
+
+    /** w_j = (-1)^j sin((2j+1)π/(2n)). */
+    private static double[] chebyshevGaussWeights(int size) {
+        double[] weights = new double[size];
+        for (int j = 0; j < size; j++) {
+            double magnitude = Math.sin(Math.PI * (2 * j + 1) / (2 * size));
+            weights[j] = (j % 2 == 0) ? magnitude : -magnitude;
+        }
+        return weights;
+    }
+
+    /**
+     * w_j = (-1)^j C(n-1, j). Считаем от центра, где коэффициент максимален,
+     * чтобы при больших n крайние веса уходили в ноль, а не в бесконечность.
+     */
+    private static double[] uniformWeights(int size) {
+        int degree = size - 1;
+        int mid = degree / 2;
+        double[] weights = new double[size];
+        weights[mid] = (mid % 2 == 0) ? 1.0 : -1.0;
+        for (int j = mid; j < degree; j++) {
+            weights[j + 1] = -weights[j] * (degree - j) / (j + 1);
+        }
+        for (int j = mid; j > 0; j--) {
+            weights[j - 1] = -weights[j] * j / (degree - j + 1);
+        }
+        return weights;
+    }
+
+    /**
+     * w_j = 1 / Π (x_j - x_k). Разности масштабируются на 4 / (b - a), а порядок
+     * произведения выносится отдельно, иначе оно переполняется уже при сотнях узлов.
+     */
+    private static double[] generalWeights(double[] xs) {
+        int size = xs.length;
+        double min = xs[0];
+        double max = xs[0];
+        for (double x : xs) {
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+        }
+        double scale = 4.0 / (max - min);
+
+        double[] weights = new double[size];
+        int[] exponents = new int[size];
+        int maxExponent = Integer.MIN_VALUE;
+        for (int j = 0; j < size; j++) {
+            double product = 1.0;
+            int exponent = 0;
+            for (int k = 0; k < size; k++) {
+                if (k != j) {
+                    product *= (xs[j] - xs[k]) * scale;
+                    int e = Math.getExponent(product);
+                    if (e > RESCALE_EXPONENT || e < -RESCALE_EXPONENT) {
+                        product = Math.scalb(product, -e);
+                        exponent += e;
+                    }
+                }
+            }
+            weights[j] = 1.0 / product;
+            exponents[j] = -exponent;
+            maxExponent = Math.max(maxExponent, exponents[j] + Math.getExponent(weights[j]));
+        }
+        for (int j = 0; j < size; j++) {
+            weights[j] = Math.scalb(weights[j], exponents[j] - maxExponent);
+        }
+        return BarycentricInterpolant.normalize(weights);
+    }
+}
@@ -0,0 +1,26 @@
+package methods;
+
+import java.util.Objects;
+
+/**
+ * Общие детали пакетного вычисления. Точки обрабатываются блоками по
+ * {@link #CHUNK}: внешний цикл идёт по порядкам разностей, внутренний —
+ * по точкам блока, без зависимостей между итерациями, чтобы JIT мог
+ * его векторизовать, а рабочие массивы оставались в L1.
+ */
+final class Batches {
+
+    static final int CHUNK = 256;
+
+    private Batches() {}
+
+    static void checkRange(double[] queries, int offset, int length, double[] out) {
+        Objects.checkFromIndexSize(offset, length, queries.length);
+        Objects.checkFromIndexSize(offset, length, out.length);
+    }
+
+    static void checkRange(float[] queries, int offset, int length, float[] out) {
+        Objects.checkFromIndexSize(offset, length, queries.length);
+        Objects.checkFromIndexSize(offset, length, out.length);
+    }
+}
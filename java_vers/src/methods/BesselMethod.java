@@ -1,38 +1,136 @@
 package methods;
 
+import io.DataSet;
+
 public class BesselMethod implements InterpolationMethod {
 
+    /** Классическая таблица Бесселя — до четвёртых разностей. */
+    public static final int DEFAULT_ORDER = 4;
+
+    private final int maxOrder;
+    private final double tolerance;
+
+    public BesselMethod() {
+        this(DEFAULT_ORDER, 0.0);
+    }
+
+    /**
+     * @param maxOrder  старший порядок разностей в формуле (не меньше 1)
+     * @param tolerance сумма обрывается после двух членов подряд меньше него; 0 — не обрывается
+     */
+    public BesselMethod(int maxOrder, double tolerance) {
+        Truncation.check(maxOrder, tolerance);
+        this.maxOrder = maxOrder;
+        this.tolerance = tolerance;
+    }
+
     @Override
-    public double value(double[] xs, double[] ys, double x) {
+    public boolean supports(DataSet data) {
+        return data.grid().uniform() && data.xs().length >= 2;
+    }
 
-        int count = xs.length;
-        int mid   = count / 2;                    // правая из двух центральных точек
-        double h  = xs[1] - xs[0];
-        double tau = (x - (xs[mid] + xs[mid - 1]) / 2.0) / h;
+    @Override
+    public Interpolant prepare(DataSet data) {
+        GaussUtils.requireEquallySpaced(data, "Bessel");
+        double[] xs = data.xs();
+        int n = xs.length;
+        if (n < 2) {
+            throw new IllegalArgumentException("Bessel interpolation requires at least two nodes.");
+        }
+        int mid = n / 2;                          // правая из двух центральных точек
+        return between(GaussUtils.centralBand(data.ys()), n, mid, (xs[mid] + xs[mid - 1]) / 2.0,
+                data.grid().step(), maxOrder, tolerance);
+    }
 
-        double[][] diff = GaussUtils.forwardDifferences(ys);
+    /**
+     * Формула с центром между узлами {@code right - 1} и {@code right}.
+     * Порядок k = 2j берёт среднее Δ^k y_{right-1-j} и Δ^k y_{right-j},
+     * порядок k = 2j + 1 — Δ^k y_{right-1-j}. Обе пары есть в таблице, пока
+     * j ≤ min(right - 1, n - 1 - right), так что доступны порядки до 2j + 1.
+     */
+    static AdaptiveInterpolant between(Differences band, int n, int right, double center, double h,
+                                       int maxOrder, double tolerance) {
+        int order = (int) Math.min(maxOrder, 2L * Math.min(right - 1, n - 1 - right) + 1);
+        double[] coefficients = new double[order + 1];
+        double inverseFactorial = 1.0;
+        for (int k = 0; k <= order; k++) {
+            if (k > 0) {
+                inverseFactorial /= k;
+            }
+            int row = right - 1 - k / 2;
+            double difference = (k % 2 == 0)
+                    ? (band.at(row, k) + band.at(row + 1, k)) / 2.0
+                    : band.at(row, k);
+            coefficients[k] = difference * inverseFactorial;
+        }
+        return new Prepared(center, h, coefficients, tolerance);
+    }
 
-        double result = (ys[mid] + ys[mid - 1]) / 2.0;
+    /**
+     * Коэффициенты — разности, уже делённые на k!. Множители при них по τ
+     * от середины между центральными узлами: g_0 = 1,
+     * g_{2j} = g_{2j-2}·(τ² - (j - 1/2)²), g_{2j+1} = τ·g_{2j}.
+     */
+    private record Prepared(double center, double h, double[] coefficients, double tolerance)
+            implements AdaptiveInterpolant {
 
-        if (mid - 1 >= 0) {
-            result += tau * diff[mid - 1][1];
+        @Override
+        public long retainedBytes() {
+            return Footprint.of(coefficients);
         }
 
-        if (mid - 2 >= 0) {
-            result += (tau * tau - 0.25)
-                    * (diff[mid - 1][2] + diff[mid - 2][2]) / 4.0;
+        @Override
+        public int maxOrder() {
+            return coefficients.length - 1;
         }
 
-        if (mid - 2 >= 0 && mid - 2 < count - 2) {
-            result += (tau * (tau * tau - 1))
-                    * diff[mid - 2][3] / 6.0;
+        /** Без допуска проверять нечего — короткий цикл без ветвлений, как у классической формулы. */
+        @Override
+        public double value(double x) {
+            return tolerance == 0 ? full((x - center) / h) : evaluate(x).value();
         }
 
-        if (mid - 3 >= 0 && mid - 3 < count - 3) {
-            result += (tau * tau - 1) * (tau * tau - 4)
-                    * (diff[mid - 2][4] + diff[mid - 3][4]) / 48.0;
+        @Override
+        public Evaluation evaluate(double x) {
+            double tau = (x - center) / h;
+            double square = tau * tau;
+            int order = coefficients.length - 1;
+            if (tolerance == 0) {
+                return new Evaluation(full(tau), order);
+            }
+
+            double result = coefficients[0];
+            double even = 1.0;
+            int quiet = 0;
+            int k = 1;
+
+            for (; k <= order && quiet < Truncation.QUIET_TERMS; k++) {
+                if (k % 2 == 0) {
+                    double half = 0.5 * (k - 1);  // j - 1/2
+                    even *= square - half * half;
+                }
+                double term = (k % 2 == 0 ? even : tau * even) * coefficients[k];
+                result += term;
+                quiet = Math.abs(term) < tolerance ? quiet + 1 : 0;
+            }
+            return new Evaluation(result, k - 1);
         }
 
-        return result;
+        private double full(double tau) {
+            double square = tau * tau;
+            int order = coefficients.length - 1;
+            double result = coefficients[0];
+            double even = 1.0;
+            for (int k = 1; k <= order; k += 2) {
+                result += tau * even * coefficients[k];
+                if (k == order) {
+                    break;
+                }
+                double half = 0.5 * k;            // j - 1/2 для k + 1 = 2j
+                even *= square - half * half;
+                result += even * coefficients[k + 1];
+            }
+            return result;
+        }
     }
 }
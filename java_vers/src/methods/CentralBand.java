@@ -0,0 +1,69 @@
+package methods;
+
+/**
+ * Те строки таблицы конечных разностей, которые читают центральные
+ * формулы: для порядка k — строки mid - 1 - k/2 и mid - k/2, где
+ * mid = n / 2. Хранится 2n чисел вместо n².
+ */
+public final class CentralBand implements Differences {
+
+    private final int size;
+    private final int mid;
+    private final double[] values;
+
+    private CentralBand(int size, double[] values) {
+        this.size = size;
+        this.mid = size / 2;
+        this.values = values;
+    }
+
+    static CentralBand of(double[] yValues) {
+        int size = yValues.length;
+        int mid = size / 2;
+        double[] column = yValues.clone();
+        double[] values = new double[2 * size];
+        for (int order = 0; order < size; order++) {
+            if (order > 0) {
+                for (int i = 0; i < size - order; i++) {
+                    column[i] = column[i + 1] - column[i];
+                }
+            }
+            int low = mid - 1 - order / 2;
+            if (low >= 0 && low < size - order) {
+                values[2 * order] = column[low];
+            }
+            if (low + 1 >= 0 && low + 1 < size - order) {
+                values[2 * order + 1] = column[low + 1];
+            }
+        }
+        return new CentralBand(size, values);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int mid() {
+        return mid;
+    }
+
+    long retainedBytes() {
+        return Footprint.of(values);
+    }
+
+    /**
+     * Δ^order y_row для двух строк полосы: mid - 1 - order/2 и mid - order/2.
+     * Строки полосы за пределами треугольника таблицы читаются как 0, как
+     * незаполненная часть полной таблицы n×n; строка вне полосы —
+     * IllegalArgumentException.
+     */
+    @Override
+    public double at(int row, int order) {
+        int slot = row - (mid - 1 - order / 2);
+        if (slot < 0 || slot > 1) {
+            throw new IllegalArgumentException(
+                    "Row " + row + " of order " + order + " is outside the central band.");
+        }
+        return values[2 * order + slot];
+    }
+}
@@ -0,0 +1,204 @@
+package methods;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Интерполяционный многочлен, сведённый к массиву коэффициентов по
+ * u = (x - origin) · scale. Вычисление — схема Горнера (мономы) или
+ * Кленшоу (многочлены Чебышёва) без единого деления: формулы Ньютона и
+ * Гаусса на каждое значение пересчитывают произведения и делят на k.
+ * <p>
+ * Мономы берутся по τ самой таблицы — годятся для невысоких степеней.
+ * Чебышёвский базис строится на отрезке узлов (u ∈ [-1, 1]) и остаётся
+ * устойчивым при любой степени. Объект — четыре поля и массив, его
+ * дёшево сериализовать и передавать между потоками и процессами.
+ */
+public record CompiledPolynomial(Basis basis, double origin, double scale, double[] coefficients)
+        implements Interpolant, Serializable {
+
+    public enum Basis { MONOMIAL, CHEBYSHEV }
+
+    public CompiledPolynomial {
+        if (coefficients.length == 0) {
+            throw new IllegalArgumentException("Polynomial needs at least one coefficient.");
+        }
+        coefficients = coefficients.clone();
+    }
+
+    /**
+     * Компилирует подготовленный интерполянт Ньютона (вперёд, назад, по
+     * разделённым разностям) или Гаусса. Обёртка замера из {@link MethodRegistry}
+     * при включённых метриках снимается: скомпилированный многочлен не замеряется.
+     *
+     * @throws IllegalArgumentException если интерполянт не в форме Ньютона
+     */
+    public static CompiledPolynomial compile(Interpolant prepared, Basis basis) {
+        Interpolant unwrapped = InstrumentedMethod.unwrap(prepared);
+        if (!(unwrapped instanceof TauPolynomial polynomial)) {
+            throw new IllegalArgumentException(
+                    unwrapped.getClass().getSimpleName() + " is not a Newton-form polynomial and cannot be compiled.");
+        }
+        NewtonForm form = polynomial.tauForm();
+        if (basis == Basis.MONOMIAL) {
+            return new CompiledPolynomial(basis, polynomial.origin(), 1.0 / polynomial.step(), monomial(form));
+        }
+
+        double lower = polynomial.lowerTau();
+        double upper = polynomial.upperTau();
+        if (!(upper > lower)) {
+            lower -= 1;
+            upper += 1;
+        }
+        double middle = 0.5 * (lower + upper);
+        double radius = 0.5 * (upper - lower);
+        return new CompiledPolynomial(basis,
+                polynomial.origin() + middle * polynomial.step(),
+                1.0 / (radius * polynomial.step()),
+                chebyshev(form, middle, radius));
+    }
+
+    public int degree() {
+        return coefficients.length - 1;
+    }
+
+    @Override
+    public long retainedBytes() {
+        return Footprint.of(coefficients);
+    }
+
+    @Override
+    public double[] coefficients() {
+        return coefficients.clone();
+    }
+
+    @Override
+    public double value(double x) {
+        double u = (x - origin) * scale;
+        int last = coefficients.length - 1;
+        if (basis == Basis.MONOMIAL) {
+            double result = coefficients[last];
+            for (int k = last - 1; k >= 0; k--) {
+                result = result * u + coefficients[k];
+            }
+            return result;
+        }
+
+        double twoU = 2 * u;
+        double b1 = 0;
+        double b2 = 0;
+        for (int k = last; k >= 1; k--) {
+            double b = coefficients[k] + twoU * b1 - b2;
+            b2 = b1;
+            b1 = b;
+        }
+        return coefficients[0] + u * b1 - b2;
+    }
+
+    @Override
+    public void valuesAt(double[] queries, int offset, int length, double[] out) {
+        Batches.checkRange(queries, offset, length, out);
+        int last = coefficients.length - 1;
+        double[] u = new double[Math.min(length, Batches.CHUNK)];
+        double[] b1 = basis == Basis.CHEBYSHEV ? new double[u.length] : null;
+        double[] b2 = basis == Basis.CHEBYSHEV ? new double[u.length] : null;
+
+        for (int start = offset, end = offset + length; start < end; start += Batches.CHUNK) {
+            int count = Math.min(Batches.CHUNK, end - start);
+            for (int i = 0; i < count; i++) {
+                u[i] = (queries[start + i] - origin) * scale;
+            }
+            if (basis == Basis.MONOMIAL) {
+                Arrays.fill(out, start, start + count, coefficients[last]);
+                for (int k = last - 1; k >= 0; k--) {
+                    double coefficient = coefficients[k];
+                    for (int i = 0; i < count; i++) {
+                        out[start + i] = out[start + i] * u[i] + coefficient;
+                    }
+                }
+            } else {
+                Arrays.fill(b1, 0, count, 0.0);
+                Arrays.fill(b2, 0, count, 0.0);
+                for (int k = last; k >= 1; k--) {
+                    double coefficient = coefficients[k];
+                    for (int i = 0; i < count; i++) {
+                        double b = coefficient + 2 * u[i] * b1[i] - b2[i];
+                        b2[i] = b1[i];
+                        b1[i] = b;
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    out[start + i] = coefficients[0] + u[i] * b1[i] - b2[i];
+                }
+            }
+        }
+    }
+
+    /** Раскрывает c_0 + (τ - s_0)(c_1 + ...) в Σ a_k τ^k. O(n²). */
+    private static double[] monomial(NewtonForm form) {
+        double[] c = form.coefficients();
+        double[] s = form.centers();
+        int degree = c.length - 1;
+        double[] a = new double[degree + 1];
+        a[0] = c[degree];
+        for (int k = degree - 1, size = 1; k >= 0; k--, size++) {
+            for (int j = size; j >= 1; j--) {
+                a[j] = a[j - 1] - s[k] * a[j];
+            }
+            a[0] = c[k] - s[k] * a[0];
+        }
+        return a;
+    }
+
+    /**
+     * То же в базисе T_k(u), τ = middle + radius · u: на каждом шаге ряд
+     * умножается на (radius · u + middle - s_k) по правилу
+     * u T_j = (T_{j+1} + T_{j-1}) / 2, u T_0 = T_1. O(n²).
+     */
+    private static double[] chebyshev(NewtonForm form, double middle, double radius) {
+        double[] c = form.coefficients();
+        double[] s = form.centers();
+        int degree = c.length - 1;
+        double[] series = new double[degree + 1];
+        double[] next = new double[degree + 1];
+        series[0] = c[degree];
+        for (int k = degree - 1, size = 1; k >= 0; k--, size++) {
+            double beta = middle - s[k];
+            Arrays.fill(next, 0, size + 1, 0.0);
+            for (int j = 0; j < size; j++) {
+                double value = series[j];
+                next[j] += beta * value;
+                if (j == 0) {
+                    next[1] += radius * value;
+                } else {
+                    next[j + 1] += 0.5 * radius * value;
+                    next[j - 1] += 0.5 * radius * value;
+                }
+            }
+            next[0] += c[k];
+            double[] swap = series;
+            series = next;
+            next = swap;
+        }
+        return series;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CompiledPolynomial p
+                && basis == p.basis
+                && Double.compare(origin, p.origin) == 0
+                && Double.compare(scale, p.scale) == 0
+                && Arrays.equals(coefficients, p.coefficients);
+    }
+
+    @Override
+    public int hashCode() {
+        return (basis.hashCode() * 31 + Double.hashCode(origin)) * 31 + Arrays.hashCode(coefficients);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledPolynomial[" + basis + ", degree " + degree() + "]";
+    }
+}
@@ -0,0 +1,156 @@
+package methods;
+
+import io.DataSet;
+import io.GridInfo;
+
+import java.util.Arrays;
+
+/**
+ * Кубический сплайн — естественный (S'' = 0 на концах) или закреплённый
+ * (заданы S' на концах). Вторые производные в узлах находятся из
+ * трёхдиагональной системы прогонкой за O(n) времени и памяти; узлы могут
+ * быть неравноотстоящими. Отрезок для x ищется двоичным поиском, на
+ * равномерной сетке — за O(1); вне таблицы продолжаются крайние кубики.
+ */
+public class CubicSplineMethod implements InterpolationMethod {
+
+    private final boolean clamped;
+    private final double startSlope;
+    private final double endSlope;
+
+    /** Естественный сплайн. */
+    public CubicSplineMethod() {
+        this.clamped = false;
+        this.startSlope = 0.0;
+        this.endSlope = 0.0;
+    }
+
+    /** Закреплённый сплайн: S'(x_0) = startSlope, S'(x_{n-1}) = endSlope. */
+    public CubicSplineMethod(double startSlope, double endSlope) {
+        if (!Double.isFinite(startSlope) || !Double.isFinite(endSlope)) {
+            throw new IllegalArgumentException("End slopes must be finite: " + startSlope + ", " + endSlope);
+        }
+        this.clamped = true;
+        this.startSlope = startSlope;
+        this.endSlope = endSlope;
+    }
+
+    @Override
+    public boolean supports(DataSet data) {
+        return data.xs().length >= 2 && data.grid().sorted();
+    }
+
+    @Override
+    public Interpolant prepare(DataSet data) {
+        if (!supports(data)) {
+            throw new IllegalArgumentException("Cubic spline requires at least two nodes sorted by x.");
+        }
+        double[] xs = data.xs();
+        double[] ys = data.ys();
+        return new Spline(xs.clone(), coefficients(xs, ys, moments(xs, ys)), data.grid());
+    }
+
+    /**
+     * Вторые производные M_i. Внутренние строки системы:
+     * h_{i-1} M_{i-1} + 2 (h_{i-1} + h_i) M_i + h_i M_{i+1} = 6 (s_i - s_{i-1}),
+     * где s_i — наклон хорды на отрезке i; крайние строки задаются условием на конце.
+     * Матрица с диагональным преобладанием, поэтому прогонка устойчива без выбора
+     * главного элемента.
+     */
+    private double[] moments(double[] xs, double[] ys) {
+        int n = xs.length;
+        double[] upper = new double[n];
+        double[] moments = new double[n];
+
+        double h = xs[1] - xs[0];
+        double slope = (ys[1] - ys[0]) / h;
+        double diagonal = clamped ? 2 * h : 1.0;
+        upper[0] = (clamped ? h : 0.0) / diagonal;
+        moments[0] = (clamped ? 6 * (slope - startSlope) : 0.0) / diagonal;
+
+        for (int i = 1; i < n; i++) {
+            double lower;
+            double rhs;
+            double next = 0.0;
+            if (i < n - 1) {
+                double hNext = xs[i + 1] - xs[i];
+                double slopeNext = (ys[i + 1] - ys[i]) / hNext;
+                lower = h;
+                diagonal = 2 * (h + hNext);
+                next = hNext;
+                rhs = 6 * (slopeNext - slope);
+                h = hNext;
+                slope = slopeNext;
+            } else if (clamped) {
+                lower = h;
+                diagonal = 2 * h;
+                rhs = 6 * (endSlope - slope);
+            } else {
+                lower = 0.0;
+                diagonal = 1.0;
+                rhs = 0.0;
+            }
+            double pivot = diagonal - lower * upper[i - 1];
+            upper[i] = next / pivot;
+            moments[i] = (rhs - lower * moments[i - 1]) / pivot;
+        }
+        for (int i = n - 2; i >= 0; i--) {
+            moments[i] -= upper[i] * moments[i + 1];
+        }
+        return moments;
+    }
+
+    /** По четыре коэффициента на отрезок: y_i, b_i, c_i, d_i при степенях (x - x_i). */
+    private static double[] coefficients(double[] xs, double[] ys, double[] moments) {
+        int segments = xs.length - 1;
+        double[] packed = new double[4 * segments];
+        for (int i = 0; i < segments; i++) {
+            double h = xs[i + 1] - xs[i];
+            packed[4 * i] = ys[i];
+            packed[4 * i + 1] = (ys[i + 1] - ys[i]) / h - h * (2 * moments[i] + moments[i + 1]) / 6;
+            packed[4 * i + 2] = moments[i] / 2;
+            packed[4 * i + 3] = (moments[i + 1] - moments[i]) / (6 * h);
+        }
+        return packed;
+    }
+
+    private static final class Spline implements Interpolant {
+
+        private final double[] xs;
+        private final double[] packed;
+        private final boolean uniform;
+        private final double step;
+
+        Spline(double[] xs, double[] packed, GridInfo grid) {
+            this.xs = xs;
+            this.packed = packed;
+            this.uniform = grid.uniform();
+            this.step = grid.step();
+        }
+
+        @Override
+        public double value(double x) {
+            int i = segment(x);
+            double t = x - xs[i];
+            int k = 4 * i;
+            return packed[k] + t * (packed[k + 1] + t * (packed[k + 2] + t * packed[k + 3]));
+        }
+
+        @Override
+        public long retainedBytes() {
+            return Footprint.of(xs, packed);
+        }
+
+        /** Номер отрезка [x_i, x_{i+1}], содержащего x; вне таблицы — крайний. */
+        private int segment(double x) {
+            int last = xs.length - 2;
+            if (uniform) {
+                double position = Math.floor((x - xs[0]) / step);
+                return (int) Math.max(0, Math.min(last, position));
+            }
+            int found = Arrays.binarySearch(xs, x);
+            int left = found >= 0 ? found : -found - 2;
+            return Math.max(0, Math.min(last, left));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package methods;
+
+/**
+ * Все строки таблицы конечных разностей до порядка {@code maxOrder}:
+ * n · (maxOrder + 1) чисел вместо n² у полной таблицы. Этого хватает, чтобы
+ * поставить центральную формулу порядка не выше maxOrder в любой узел,
+ * а не только в середину, как у {@link CentralBand}.
+ */
+final class DifferenceRows implements Differences {
+
+    private final int size;
+    private final int maxOrder;
+    /** Δ^k y_i лежит в values[k · size + i], i < size - k. */
+    private final double[] values;
+
+    private DifferenceRows(int size, int maxOrder, double[] values) {
+        this.size = size;
+        this.maxOrder = maxOrder;
+        this.values = values;
+    }
+
+    /** Разности порядков 0..min(maxOrder, n - 1), столбец за столбцом. */
+    static DifferenceRows of(double[] yValues, int maxOrder) {
+        int size = yValues.length;
+        int orders = (int) Math.min(maxOrder, size - 1L);
+        double[] values = new double[(orders + 1) * size];
+        System.arraycopy(yValues, 0, values, 0, size);
+        for (int order = 1; order <= orders; order++) {
+            int previous = (order - 1) * size;
+            int current = order * size;
+            for (int i = 0; i < size - order; i++) {
+                values[current + i] = values[previous + i + 1] - values[previous + i];
+            }
+        }
+        return new DifferenceRows(size, orders, values);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int maxOrder() {
+        return maxOrder;
+    }
+
+    long retainedBytes() {
+        return Footprint.of(values);
+    }
+
+    /** Верхняя диагональ: result[k] = Δ^k y_0. */
+    double[] top() {
+        double[] top = new double[maxOrder + 1];
+        for (int k = 0; k <= maxOrder; k++) {
+            top[k] = values[k * size];
+        }
+        return top;
+    }
+
+    /** Нижняя диагональ: result[k] = Δ^k y_{n-1-k}. */
+    double[] bottom() {
+        double[] bottom = new double[maxOrder + 1];
+        for (int k = 0; k <= maxOrder; k++) {
+            bottom[k] = values[k * size + size - 1 - k];
+        }
+        return bottom;
+    }
+
+    /** Δ^order y_row; за пределами треугольника или хранимых порядков — IllegalArgumentException. */
+    @Override
+    public double at(int row, int order) {
+        if (order < 0 || order > maxOrder || row < 0 || row >= size - order) {
+            throw new IllegalArgumentException(
+                    "Row " + row + " of order " + order + " is outside the stored differences.");
+        }
+        return values[order * size + row];
+    }
+}
@@ -0,0 +1,8 @@
+package methods;
+
+/** Доступ к конечной разности Δ^order y_row, как бы ни была устроена таблица. */
+@FunctionalInterface
+interface Differences {
+
+    double at(int row, int order);
+}
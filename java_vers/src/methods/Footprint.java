@@ -0,0 +1,21 @@
+package methods;
+
+/**
+ * Оценки для {@link Interpolant#retainedBytes}: по 16 байт на заголовок
+ * объекта и массива (сжатые указатели), 8 байт на double.
+ */
+final class Footprint {
+
+    static final long OBJECT = 16;
+
+    private Footprint() {}
+
+    /** Объект с массивами {@code arrays}. */
+    static long of(double[]... arrays) {
+        long total = OBJECT;
+        for (double[] array : arrays) {
+            total += OBJECT + 8L * array.length;
+        }
+        return total;
+    }
+}
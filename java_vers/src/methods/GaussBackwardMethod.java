@@ -1,39 +1,163 @@
 package methods;
 
+import io.DataSet;
+
 public class GaussBackwardMethod implements InterpolationMethod {
 
+    private final int maxOrder;
+    private final double tolerance;
+
+    /** Все порядки, которые помещаются в таблицу, без досрочной остановки. */
+    public GaussBackwardMethod() {
+        this(Truncation.ALL_ORDERS, 0.0);
+    }
+
+    /**
+     * @param maxOrder  старший порядок разностей в формуле (не меньше 1)
+     * @param tolerance сумма обрывается после двух членов подряд меньше него; 0 — не обрывается
+     */
+    public GaussBackwardMethod(int maxOrder, double tolerance) {
+        Truncation.check(maxOrder, tolerance);
+        this.maxOrder = maxOrder;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public boolean supports(DataSet data) {
+        return data.grid().uniform();
+    }
+
     @Override
-    public double value(double[] xs, double[] ys, double x) {
+    public Interpolant prepare(DataSet data) {
+        GaussUtils.requireEquallySpaced(data, "Gauss backward");
+        double[] xs = data.xs();
         int length = xs.length;
         int mid = length / 2;
-        double step = xs[1] - xs[0];
-        double center = (xs[mid] + xs[mid - 1]) / 2.0;
-        double tau = (x - center) / step;
 
-        double[][] diff = GaussUtils.forwardDifferences(ys);
+        int order = 0;
+        for (int k = 1; k < length && k <= maxOrder; k++) {
+            int rowIndex = row(mid, k);
+            if (rowIndex < 0 || rowIndex >= length - k) {
+                break;
+            }
+            order = k;
+        }
+        return new Prepared(xs[mid], data.grid().step(), mid, order, tolerance,
+                GaussUtils.centralBand(data.ys()));
+    }
 
-        double result = (ys[mid] + ys[mid - 1]) / 2.0;
+    private static int row(int mid, int k) {
+        return mid - (k + 1) / 2;
+    }
 
-        double term = tau;
-        result += term * diff[mid - 1][1];
+    /** Множитель при переходе к порядку k ≥ 2: (t + k/2) для чётных, (t - (k-1)/2) для нечётных. */
+    private static double shift(int k) {
+        return (k % 2 == 0) ? k / 2.0 : -(k - 1) / 2.0;
+    }
 
-        for (int k = 2; k < length; k++) {
-            term *= (tau * tau - (k / 2.0) * (k / 2.0));
-            term /= k;
+    private record Prepared(double center, double step, int mid, int maxOrder, double tolerance,
+                            CentralBand band) implements TauPolynomial, AdaptiveInterpolant {
 
-            int rowA = mid - k / 2;
-            int rowB = mid - 1 - k / 2;
-            if (rowA < 0 || rowB < 0 || rowA >= length - k || rowB >= length - k) {
-                break;
+        @Override
+        public double origin() {
+            return center;
+        }
+
+        /** Центры: 0 для τ, затем -shift(k) для каждого следующего множителя. */
+        @Override
+        public NewtonForm tauForm() {
+            double[] centers = new double[maxOrder];
+            double[] differences = new double[maxOrder + 1];
+            differences[0] = band.at(mid, 0);
+            for (int k = 1; k <= maxOrder; k++) {
+                centers[k - 1] = (k == 1) ? 0.0 : -shift(k);
+                differences[k] = band.at(row(mid, k), k);
             }
+            return NewtonForm.fromDifferences(centers, differences, maxOrder);
+        }
 
-            double average = (diff[rowA][k] + diff[rowB][k]) / 2.0;
-            result += term * average;
+        @Override
+        public long retainedBytes() {
+            return Footprint.OBJECT + band.retainedBytes();
         }
-        return result;
-    }
-}
 
+        @Override
+        public double lowerTau() {
+            return -mid;
+        }
+
+        @Override
+        public double upperTau() {
+            return band.size() - 1 - mid;
+        }
+
+        @Override
+        public Evaluation evaluate(double x) {
+            double tau = (x - center) / step;
+
+            double result = band.at(mid, 0);
+            double factor = tau;
+            int quiet = 0;
+            int k = 1;
 
+            for (; k <= maxOrder && quiet < Truncation.QUIET_TERMS; k++) {
+                if (k > 1) {
+                    factor *= tau + shift(k);
+                    factor /= k;
+                }
+                double term = factor * band.at(row(mid, k), k);
+                result += term;
+                quiet = Math.abs(term) < tolerance ? quiet + 1 : 0;
+            }
+            return new Evaluation(result, k - 1);
+        }
 
+        @Override
+        public void valuesAt(double[] queries, int offset, int length, double[] out) {
+            Batches.checkRange(queries, offset, length, out);
+            double[] tau = new double[Math.min(length, Batches.CHUNK)];
+            double[] factor = new double[tau.length];
+            int[] quiet = new int[tau.length];
 
+            for (int start = offset, end = offset + length; start < end; start += Batches.CHUNK) {
+                int count = Math.min(Batches.CHUNK, end - start);
+                for (int i = 0; i < count; i++) {
+                    tau[i] = (queries[start + i] - center) / step;
+                    factor[i] = tau[i];
+                    quiet[i] = 0;
+                    out[start + i] = band.at(mid, 0);
+                }
+                int active = count;
+                for (int k = 1; k <= maxOrder && active > 0; k++) {
+                    double shift = shift(k);
+                    double coefficient = band.at(row(mid, k), k);
+                    if (tolerance == 0) {
+                        for (int i = 0; i < count; i++) {
+                            if (k > 1) {
+                                factor[i] *= tau[i] + shift;
+                                factor[i] /= k;
+                            }
+                            out[start + i] += factor[i] * coefficient;
+                        }
+                        continue;
+                    }
+                    for (int i = 0; i < count; i++) {
+                        if (quiet[i] == Truncation.QUIET_TERMS) {
+                            continue;
+                        }
+                        if (k > 1) {
+                            factor[i] *= tau[i] + shift;
+                            factor[i] /= k;
+                        }
+                        double term = factor[i] * coefficient;
+                        out[start + i] += term;
+                        quiet[i] = Math.abs(term) < tolerance ? quiet[i] + 1 : 0;
+                        if (quiet[i] == Truncation.QUIET_TERMS) {
+                            active--;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,36 +1,192 @@
 package methods;
 
+import io.DataSet;
+import io.FloatDataSet;
+import io.GridInfo;
+import metrics.Metrics;
+import metrics.Span;
+import metrics.Timer;
+
 public final class GaussUtils {
 
+    private static final Timer FORWARD_TABLE  = Metrics.timer("differences.forward-table");
+    private static final Timer DIVIDED_TABLE  = Metrics.timer("differences.divided-table");
+    private static final Timer DIAGONAL       = Metrics.timer("differences.diagonal");
+    private static final Timer BAND           = Metrics.timer("differences.central-band");
+
     private GaussUtils() {}
 
-    public static double[][] forwardDifferences(double[] yValues) {
-        int size = yValues.length;
-        double[][] diff = new double[size][size];
-        for (int i = 0; i < size; i++) {
-            diff[i][0] = yValues[i];
+    /** Конечные разности имеют смысл только на равномерной сетке. */
+    static void requireEquallySpaced(DataSet data, String method) {
+        requireEquallySpaced(data.grid(), method);
+    }
+
+    static void requireEquallySpaced(GridInfo grid, String method) {
+        if (!grid.uniform()) {
+            throw new IllegalArgumentException(method + " interpolation requires equally spaced nodes.");
         }
-        for (int order = 1; order < size; order++) {
-            for (int row = 0; row < size - order; row++) {
-                diff[row][order] = diff[row + 1][order - 1] - diff[row][order - 1];
+    }
+
+    @SuppressWarnings("try")
+    public static double[][] forwardDifferences(double[] yValues) {
+        try (Span span = FORWARD_TABLE.start()) {
+            int size = yValues.length;
+            double[][] diff = new double[size][size];
+            for (int i = 0; i < size; i++) {
+                diff[i][0] = yValues[i];
+            }
+            for (int order = 1; order < size; order++) {
+                for (int row = 0; row < size - order; row++) {
+                    diff[row][order] = diff[row + 1][order - 1] - diff[row][order - 1];
+                }
             }
+            return diff;
         }
-        return diff;
     }
 
+    @SuppressWarnings("try")
     public static double[][] dividedDifferences(double[] xValues, double[] yValues) {
-        int size = yValues.length;
-        double[][] diff = new double[size][size];
-        for (int i = 0; i < size; i++) {
-            diff[i][0] = yValues[i];
+        try (Span span = DIVIDED_TABLE.start()) {
+            int size = yValues.length;
+            double[][] diff = new double[size][size];
+            for (int i = 0; i < size; i++) {
+                diff[i][0] = yValues[i];
+            }
+            for (int order = 1; order < size; order++) {
+                for (int row = 0; row < size - order; row++) {
+                    diff[row][order] =
+                            (diff[row + 1][order - 1] - diff[row][order - 1])
+                                    / (xValues[row + order] - xValues[row]);
+                }
+            }
+            return diff;
+        }
+    }
+
+    /**
+     * Упакованная треугольная таблица: столбцы по порядкам подряд,
+     * столбец k длиной size - k. Всего size(size+1)/2 чисел в одном массиве.
+     */
+    public static int packedIndex(int size, int row, int order) {
+        return (int) ((long) order * size - (long) order * (order - 1) / 2 + row);
+    }
+
+    @SuppressWarnings("try")
+    public static double[] forwardDifferencesPacked(double[] yValues) {
+        try (Span span = FORWARD_TABLE.start()) {
+            int size = yValues.length;
+            double[] table = new double[packedSize(size)];
+            System.arraycopy(yValues, 0, table, 0, size);
+            int previous = 0;
+            int current = size;
+            for (int order = 1; order < size; order++) {
+                int length = size - order;
+                for (int row = 0; row < length; row++) {
+                    table[current + row] = table[previous + row + 1] - table[previous + row];
+                }
+                previous = current;
+                current += length;
+            }
+            return table;
+        }
+    }
+
+    @SuppressWarnings("try")
+    public static double[] dividedDifferencesPacked(double[] xValues, double[] yValues) {
+        try (Span span = DIVIDED_TABLE.start()) {
+            int size = yValues.length;
+            double[] table = new double[packedSize(size)];
+            System.arraycopy(yValues, 0, table, 0, size);
+            int previous = 0;
+            int current = size;
+            for (int order = 1; order < size; order++) {
+                int length = size - order;
+                for (int row = 0; row < length; row++) {
+                    table[current + row] =
+                            (table[previous + row + 1] - table[previous + row])
+                                    / (xValues[row + order] - xValues[row]);
+                }
+                previous = current;
+                current += length;
+            }
+            return table;
         }
-        for (int order = 1; order < size; order++) {
-            for (int row = 0; row < size - order; row++) {
-                diff[row][order] =
-                        (diff[row + 1][order - 1] - diff[row][order - 1])
-                                / (xValues[row + order] - xValues[row]);
+    }
+
+    /** Верхняя строка таблицы: result[k] = Δ^k y_0. O(n) памяти. */
+    @SuppressWarnings("try")
+    public static double[] forwardDiagonal(double[] yValues) {
+        try (Span span = DIAGONAL.start()) {
+            double[] edge = yValues.clone();
+            for (int order = 1; order < edge.length; order++) {
+                for (int i = edge.length - 1; i >= order; i--) {
+                    edge[i] -= edge[i - 1];
+                }
+            }
+            return edge;
+        }
+    }
+
+    /** Нижняя диагональ таблицы: result[k] = Δ^k y_{n-1-k}. O(n) памяти. */
+    @SuppressWarnings("try")
+    public static double[] backwardDiagonal(double[] yValues) {
+        try (Span span = DIAGONAL.start()) {
+            int size = yValues.length;
+            double[] column = yValues.clone();
+            for (int order = 1; order < size; order++) {
+                for (int i = 0; i < size - order; i++) {
+                    column[i] = column[i + 1] - column[i];
+                }
             }
+            double[] edge = new double[size];
+            for (int k = 0; k < size; k++) {
+                edge[k] = column[size - 1 - k];
+            }
+            return edge;
+        }
+    }
+
+    /**
+     * То же для таблицы во float. Разности считаются в double: Δ^k — это
+     * сумма 2^k слагаемых с чередующимися знаками, и в одинарной точности
+     * уже при k ≈ 10 от них остался бы шум округления. Округляется только ответ.
+     */
+    public static float[] forwardDiagonal(float[] yValues) {
+        return FloatDataSet.narrow(forwardDiagonal(FloatDataSet.widen(yValues)));
+    }
+
+    public static float[] backwardDiagonal(float[] yValues) {
+        return FloatDataSet.narrow(backwardDiagonal(FloatDataSet.widen(yValues)));
+    }
+
+    /** Коэффициенты формы Ньютона: result[k] = f[x_0, ..., x_k]. O(n) памяти. */
+    @SuppressWarnings("try")
+    public static double[] dividedDiagonal(double[] xValues, double[] yValues) {
+        try (Span span = DIAGONAL.start()) {
+            double[] edge = yValues.clone();
+            for (int order = 1; order < edge.length; order++) {
+                for (int i = edge.length - 1; i >= order; i--) {
+                    edge[i] = (edge[i] - edge[i - 1]) / (xValues[i] - xValues[i - order]);
+                }
+            }
+            return edge;
+        }
+    }
+
+    /** Центральная полоса таблицы для Гаусса, Стирлинга и Бесселя. O(n) памяти. */
+    @SuppressWarnings("try")
+    public static CentralBand centralBand(double[] yValues) {
+        try (Span span = BAND.start()) {
+            return CentralBand.of(yValues);
+        }
+    }
+
+    private static int packedSize(int size) {
+        long packed = (long) size * (size + 1) / 2;
+        if (packed > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                    "Difference table for " + size + " nodes does not fit into one array.");
         }
-        return diff;
+        return (int) packed;
     }
 }
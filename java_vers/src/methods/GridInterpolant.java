@@ -0,0 +1,76 @@
+package methods;
+
+import io.DataSet;
+import io.GridInfo;
+
+/**
+ * Интерполянт {@link TensorProductMethod}. Значение в (x, y) — это значение
+ * в y интерполянта по столбцу {@code lines[j].value(x)}. Столбец последнего x
+ * хранится вместе с подготовленным по нему интерполянтом, поэтому точки
+ * с тем же x (строка развёртки, срез при фиксированном x) стоят одного
+ * вычисления вдоль y; новый x — m вычислений вдоль x и одна подготовка
+ * вдоль y вместо подготовки n таблиц.
+ * <p>
+ * Кэш — одна неизменяемая запись в volatile-поле: при вызовах из нескольких
+ * потоков столбец может посчитаться лишний раз, но ответ от этого не меняется.
+ */
+public final class GridInterpolant {
+
+    private record Column(double x, Interpolant alongY) { }
+
+    private final InterpolationMethod method;
+    private final double[] ys;
+    private final GridInfo yGrid;
+    /** Интерполянты вдоль x, по одному на узел ys[j]. */
+    private final Interpolant[] lines;
+    private volatile Column last;
+
+    GridInterpolant(InterpolationMethod method, double[] ys, GridInfo yGrid, Interpolant[] lines) {
+        this.method = method;
+        this.ys = ys;
+        this.yGrid = yGrid;
+        this.lines = lines;
+    }
+
+    public double value(double x, double y) {
+        return column(x).value(y);
+    }
+
+    /**
+     * Значения в точках (xs[i], ys[i]) для {@code i} из [offset, offset + length).
+     * Подряд идущие точки с одинаковым x считаются пакетом по одному столбцу,
+     * так что точки выгоднее упорядочить по x.
+     */
+    public void valuesAt(double[] xs, double[] ys, int offset, int length, double[] out) {
+        Batches.checkRange(ys, offset, length, out);
+        Batches.checkRange(xs, offset, length, out);
+        int end = offset + length;
+        int runStart = offset;
+        while (runStart < end) {
+            double x = xs[runStart];
+            int runEnd = runStart + 1;
+            while (runEnd < end && xs[runEnd] == x) {
+                runEnd++;
+            }
+            column(x).valuesAt(ys, runStart, runEnd - runStart, out);
+            runStart = runEnd;
+        }
+    }
+
+    public void valuesAt(double[] xs, double[] ys, double[] out) {
+        valuesAt(xs, ys, 0, ys.length, out);
+    }
+
+    private Interpolant column(double x) {
+        Column column = last;
+        if (column == null || column.x() != x) {
+            double[] values = new double[lines.length];
+            for (int j = 0; j < lines.length; j++) {
+                values[j] = lines[j].value(x);
+            }
+            column = new Column(x, method.prepare(new DataSet(ys, values, yGrid)));
+            last = column;
+        }
+        return column.alongY();
+    }
+}
@@ -0,0 +1,139 @@
+package methods;
+
+import io.DataSet;
+import io.FloatDataSet;
+import metrics.Metrics;
+import metrics.Span;
+import metrics.Timer;
+
+/**
+ * Обёртка, замеряющая подготовку и вычисление метода: таймеры
+ * {@code <id>.prepare}, {@code <id>.value} и {@code <id>.batch}, для пакетов
+ * float — {@code <id>.prepareFloat} и {@code <id>.batchFloat}.
+ * Создаётся только при включённых метриках — иначе {@link #wrap}
+ * возвращает сам метод, и на горячем пути нет даже лишнего вызова.
+ */
+final class InstrumentedMethod implements InterpolationMethod {
+
+    private final InterpolationMethod method;
+    private final Timer prepare;
+    private final Timer value;
+    private final Timer batch;
+    private final Timer prepareFloat;
+    private final Timer batchFloat;
+
+    private InstrumentedMethod(String id, InterpolationMethod method) {
+        this.method = method;
+        this.prepare = Metrics.timer(id + ".prepare");
+        this.value = Metrics.timer(id + ".value");
+        this.batch = Metrics.timer(id + ".batch");
+        this.prepareFloat = Metrics.timer(id + ".prepareFloat");
+        this.batchFloat = Metrics.timer(id + ".batchFloat");
+    }
+
+    static InterpolationMethod wrap(String id, InterpolationMethod method) {
+        return Metrics.ENABLED ? new InstrumentedMethod(id, method) : method;
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public Interpolant prepare(DataSet data) {
+        try (Span span = prepare.start()) {
+            Interpolant prepared = method.prepare(data);
+            return prepared instanceof AdaptiveInterpolant adaptive
+                    ? new TimedAdaptive(adaptive, value, batch)
+                    : new Timed(prepared, value, batch);
+        }
+    }
+
+    /** Без этого переопределения сработал бы общий путь через double, а не float-ядро метода. */
+    @Override
+    @SuppressWarnings("try")
+    public FloatInterpolant prepareFloat(FloatDataSet data) {
+        try (Span span = prepareFloat.start()) {
+            return new TimedFloat(method.prepareFloat(data), batchFloat);
+        }
+    }
+
+    @Override
+    public boolean supports(DataSet data) {
+        return method.supports(data);
+    }
+
+    /** Интерполянт метода без обёртки замера — чтобы его можно было, например, скомпилировать. */
+    static Interpolant unwrap(Interpolant interpolant) {
+        if (interpolant instanceof Timed timed) {
+            return timed.interpolant();
+        }
+        if (interpolant instanceof TimedAdaptive timed) {
+            return timed.interpolant();
+        }
+        return interpolant;
+    }
+
+    private record Timed(Interpolant interpolant, Timer value, Timer batch) implements Interpolant {
+
+        @Override
+        @SuppressWarnings("try")
+        public double value(double x) {
+            try (Span span = value.start()) {
+                return interpolant.value(x);
+            }
+        }
+
+        @Override
+        public long retainedBytes() {
+            return interpolant.retainedBytes();
+        }
+
+        @Override
+        @SuppressWarnings("try")
+        public void valuesAt(double[] queries, int offset, int length, double[] out) {
+            try (Span span = batch.start()) {
+                interpolant.valuesAt(queries, offset, length, out);
+            }
+        }
+    }
+
+    /** То же для методов на разностях — чтобы порядок оставался доступен через {@link AdaptiveInterpolant}. */
+    private record TimedAdaptive(AdaptiveInterpolant interpolant, Timer value, Timer batch)
+            implements AdaptiveInterpolant {
+
+        @Override
+        @SuppressWarnings("try")
+        public Evaluation evaluate(double x) {
+            try (Span span = value.start()) {
+                return interpolant.evaluate(x);
+            }
+        }
+
+        @Override
+        public int maxOrder() {
+            return interpolant.maxOrder();
+        }
+
+        @Override
+        public long retainedBytes() {
+            return interpolant.retainedBytes();
+        }
+
+        @Override
+        @SuppressWarnings("try")
+        public void valuesAt(double[] queries, int offset, int length, double[] out) {
+            try (Span span = batch.start()) {
+                interpolant.valuesAt(queries, offset, length, out);
+            }
+        }
+    }
+
+    private record TimedFloat(FloatInterpolant interpolant, Timer batch) implements FloatInterpolant {
+
+        @Override
+        @SuppressWarnings("try")
+        public void valuesAt(float[] queries, int offset, int length, float[] out) {
+            try (Span span = batch.start()) {
+                interpolant.valuesAt(queries, offset, length, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package methods;
+
+/**
+ * Интерполянт, подготовленный методом для конкретной таблицы.
+ * Все таблицы разностей и коэффициенты считаются один раз в
+ * {@link InterpolationMethod#prepare}, поэтому реализации неизменяемы
+ * и могут вызываться из нескольких потоков.
+ */
+public interface Interpolant {
+
+    double value(double x);
+
+    default void valuesAt(double[] queries, double[] out) {
+        valuesAt(queries, 0, queries.length, out);
+    }
+
+    /**
+     * Значения в точках {@code queries[offset .. offset + length)},
+     * записываются в {@code out} по тем же индексам.
+     */
+    default void valuesAt(double[] queries, int offset, int length, double[] out) {
+        Batches.checkRange(queries, offset, length, out);
+        for (int i = offset; i < offset + length; i++) {
+            out[i] = value(queries[i]);
+        }
+    }
+
+    /**
+     * Примерный объём подготовленного состояния в байтах — по нему
+     * {@link InterpolantCache} ограничивает свой размер. −1, если неизвестен.
+     */
+    default long retainedBytes() {
+        return -1;
+    }
+}
@@ -0,0 +1,193 @@
+package methods;
+
+import io.DataSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Кэш подготовленных интерполянтов по содержимому таблицы: ключ — идентификатор
+ * метода и 128-битный хэш {@code xs}/{@code ys}, так что одна и та же таблица,
+ * пришедшая в разных массивах, не готовится заново.
+ * <p>
+ * Поиск идёт без общей блокировки ({@link ConcurrentHashMap}); при промахе
+ * интерполянт строится вне карты, и при гонке побеждает первый
+ * {@code putIfAbsent}. Размер ограничен числом записей и приблизительным
+ * объёмом в байтах; при превышении один поток вытесняет давно не
+ * использованные записи до 90% лимита, остальные не ждут. Объём записи
+ * оценивает сам интерполянт ({@link Interpolant#retainedBytes}).
+ */
+public final class InterpolantCache {
+
+    /** Счётчики кэша на момент вызова {@link #stats()}. */
+    public record Stats(long hits, long misses, long evictions, int entries, long bytes) { }
+
+    private static final long P1 = 0x9E3779B97F4A7C15L;
+    private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final ReentrantLock evicting = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public InterpolantCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("Cache limits must be positive: " + maxEntries + ", " + maxBytes);
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /** Интерполянт метода из {@link MethodRegistry} для таблицы {@code data}. */
+    public Interpolant get(String methodId, DataSet data) {
+        return get(methodId, MethodRegistry.byId(methodId), data);
+    }
+
+    /**
+     * Интерполянт метода {@code method}, закэшированный под {@code methodId}.
+     * Идентификатор должен однозначно задавать метод вместе с его настройками.
+     */
+    public Interpolant get(String methodId, InterpolationMethod method, DataSet data) {
+        Key key = Key.of(methodId, data);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits.increment();
+            entry.lastUse = clock.incrementAndGet();
+            return entry.interpolant;
+        }
+
+        misses.increment();
+        Interpolant prepared = method.prepare(data);
+        Entry created = new Entry(prepared, weigh(data, prepared), clock.incrementAndGet());
+        Entry raced = entries.putIfAbsent(key, created);
+        if (raced != null) {
+            return raced.interpolant;
+        }
+        bytes.addAndGet(created.bytes);
+        if (entries.size() > maxEntries || bytes.get() > maxBytes) {
+            evict();
+        }
+        return created.interpolant;
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), bytes.get());
+    }
+
+    public void clear() {
+        entries.clear();
+        bytes.set(0);
+    }
+
+    /**
+     * Приблизительный объём записи: служебные объекты, массивы узлов в ключе
+     * и то, что держит сам интерполянт ({@link Interpolant#retainedBytes}).
+     * Если интерполянт объём не сообщает — узлы плюс несколько массивов
+     * длины n (диагонали разностей, веса, коэффициенты).
+     */
+    private static long weigh(DataSet data, Interpolant interpolant) {
+        long retained = interpolant.retainedBytes();
+        if (retained < 0) {
+            return 128 + 32L * data.xs().length;
+        }
+        return 128 + Footprint.of(data.xs(), data.ys()) + retained;
+    }
+
+    private void evict() {
+        if (!evicting.tryLock()) {
+            return;
+        }
+        try {
+            int entryTarget = Math.max(1, maxEntries - maxEntries / 10);
+            long byteTarget = maxBytes - maxBytes / 10;
+            if (entries.size() <= maxEntries && bytes.get() <= maxBytes) {
+                return;
+            }
+            List<Map.Entry<Key, Entry>> byAge = new ArrayList<>(entries.entrySet());
+            byAge.sort(Comparator.comparingLong(e -> e.getValue().lastUse));
+            for (Map.Entry<Key, Entry> oldest : byAge) {
+                if (entries.size() <= entryTarget && bytes.get() <= byteTarget) {
+                    break;
+                }
+                if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                    bytes.addAndGet(-oldest.getValue().bytes);
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evicting.unlock();
+        }
+    }
+
+    private static final class Entry {
+        final Interpolant interpolant;
+        final long bytes;
+        volatile long lastUse;
+
+        Entry(Interpolant interpolant, long bytes, long lastUse) {
+            this.interpolant = interpolant;
+            this.bytes = bytes;
+            this.lastUse = lastUse;
+        }
+    }
+
+    /**
+     * Хэш считается за один проход двумя независимыми дорожками; при
+     * совпадении хэшей содержимое всё равно сравнивается, поэтому коллизия
+     * не может вернуть чужой интерполянт.
+     */
+    private record Key(String methodId, long hi, long lo, double[] xs, double[] ys) {
+
+        static Key of(String methodId, DataSet data) {
+            long hi = P1 ^ data.xs().length;
+            long lo = P2;
+            hi = mix(hi, lo, data.xs());
+            lo = mix(lo, hi, data.ys());
+            return new Key(methodId, finish(hi + lo), finish(lo ^ hi * P1), data.xs(), data.ys());
+        }
+
+        private static long mix(long h, long seed, double[] values) {
+            long a = h;
+            long b = seed;
+            for (double v : values) {
+                long bits = Double.doubleToLongBits(v);
+                a = Long.rotateLeft(a ^ bits, 29) * P1;
+                b = (b + bits) * P2;
+            }
+            return a ^ Long.rotateLeft(b, 31);
+        }
+
+        private static long finish(long h) {
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            return h ^ h >>> 33;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key k
+                    && hi == k.hi && lo == k.lo && methodId.equals(k.methodId)
+                    && (xs == k.xs || Arrays.equals(xs, k.xs))
+                    && (ys == k.ys || Arrays.equals(ys, k.ys));
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (hi ^ hi >>> 32) * 31 + methodId.hashCode();
+        }
+    }
+}
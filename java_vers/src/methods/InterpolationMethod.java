@@ -1,6 +1,33 @@
 package methods;
 
+import io.DataSet;
+import io.DataSets;
+import io.FloatDataSet;
+
 public interface InterpolationMethod {
 
-    double value(double[] xs, double[] ys, double x);
-}
\ No newline at end of file
+    Interpolant prepare(DataSet data);
+
+    /** Применим ли метод к таблице; иначе {@link #prepare} бросит IllegalArgumentException. */
+    default boolean supports(DataSet data) {
+        return true;
+    }
+
+    /**
+     * Интерполянт для пакетов float, см. {@link FloatInterpolant}. По умолчанию
+     * таблица расширяется до double и считается обычным путём; методы Ньютона
+     * на конечных разностях переопределяют это одинарной точностью.
+     */
+    default FloatInterpolant prepareFloat(FloatDataSet data) {
+        return FloatInterpolant.widening(prepare(data.widen()));
+    }
+
+    /**
+     * Прежний вызов по сырым массивам. Таблица проходит {@link DataSets#validated}:
+     * узлы сортируются по x, поэтому убывающая равномерная таблица годится и
+     * для методов на разностях, а повторяющиеся x — IllegalArgumentException.
+     */
+    default double value(double[] xs, double[] ys, double x) {
+        return prepare(DataSets.validated(xs, ys)).value(x);
+    }
+}
@@ -1,19 +1,33 @@
 package methods;
 
+import io.DataSet;
 
 public class LagrangeMethod implements InterpolationMethod {
 
     @Override
-    public double value(double[] xs, double[] ys, double x) {
-        double sum = 0.0;
-        for (int i = 0; i < xs.length; i++) {
-            double li = 1.0;
-            for (int j = 0; j < xs.length; j++) {
-                if (i == j) continue;
-                li *= (x - xs[j]) / (xs[i] - xs[j]);
+    public Interpolant prepare(DataSet data) {
+        return new Prepared(data.xs().clone(), data.ys().clone());
+    }
+
+    private record Prepared(double[] xs, double[] ys) implements Interpolant {
+
+        @Override
+        public long retainedBytes() {
+            return Footprint.of(xs, ys);
+        }
+
+        @Override
+        public double value(double x) {
+            double sum = 0.0;
+            for (int i = 0; i < xs.length; i++) {
+                double li = 1.0;
+                for (int j = 0; j < xs.length; j++) {
+                    if (i == j) continue;
+                    li *= (x - xs[j]) / (xs[i] - xs[j]);
+                }
+                sum += ys[i] * li;
             }
-            sum += ys[i] * li;
+            return sum;
         }
-        return sum;
     }
 }
@@ -0,0 +1,58 @@
+package methods;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Методы по строковому идентификатору — для пакетного режима и других
+ * неинтерактивных клиентов. Все методы без состояния, поэтому экземпляры общие.
+ */
+public final class MethodRegistry {
+
+    private static final Map<String, InterpolationMethod> METHODS = new LinkedHashMap<>();
+
+    static {
+        register("lagrange",         new BarycentricLagrangeMethod());
+        register("newton-forward",   new NewtonForwardMethod());
+        register("newton-backward",  new NewtonBackwardMethod());
+        register("gauss-forward",    new GaussForwardMethod());
+        register("gauss-backward",   new GaussBackwardMethod());
+        register("stirling",         new StirlingMethod());
+        register("bessel",           new BesselMethod());
+        register("lagrange-classic", new LagrangeMethod());
+        register("newton-divided",   new NewtonDividedMethod());
+        register("auto",             new AutoMethod());
+        register("spline",           new CubicSplineMethod());
+    }
+
+    /** При {@code -Dinterp.metrics=true} методы реестра замеряются, см. {@link InstrumentedMethod}. */
+    private static void register(String id, InterpolationMethod method) {
+        METHODS.put(id, InstrumentedMethod.wrap(id, method));
+    }
+
+    /** Семь многочленных методов из Main — набор по умолчанию для пакетного режима и графиков. */
+    private static final List<String> STANDARD = List.of(
+            "lagrange", "newton-forward", "newton-backward",
+            "gauss-forward", "gauss-backward", "stirling", "bessel");
+
+    private MethodRegistry() {}
+
+    public static InterpolationMethod byId(String id) {
+        InterpolationMethod method = METHODS.get(id);
+        if (method == null) {
+            throw new IllegalArgumentException("Unknown method '" + id + "', expected one of " + METHODS.keySet());
+        }
+        return method;
+    }
+
+    public static Set<String> ids() {
+        return Collections.unmodifiableSet(METHODS.keySet());
+    }
+
+    public static List<String> standardIds() {
+        return STANDARD;
+    }
+}
@@ -1,23 +1,152 @@
 package methods;
 
+import io.DataSet;
+import io.FloatDataSet;
+
 public class NewtonBackwardMethod implements InterpolationMethod {
 
+    private final int maxOrder;
+    private final double tolerance;
+
+    /** Все порядки разностей, без досрочной остановки. */
+    public NewtonBackwardMethod() {
+        this(Truncation.ALL_ORDERS, 0.0);
+    }
+
+    /**
+     * @param maxOrder  старший порядок разностей в формуле (не меньше 1)
+     * @param tolerance сумма обрывается после двух членов подряд меньше него; 0 — не обрывается
+     */
+    public NewtonBackwardMethod(int maxOrder, double tolerance) {
+        Truncation.check(maxOrder, tolerance);
+        this.maxOrder = maxOrder;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public boolean supports(DataSet data) {
+        return data.grid().uniform();
+    }
+
+    @Override
+    public Interpolant prepare(DataSet data) {
+        GaussUtils.requireEquallySpaced(data, "Newton backward");
+        double[] xs = data.xs();
+        return fromDiagonal(xs[xs.length - 1], data.grid().step(), GaussUtils.backwardDiagonal(data.ys()),
+                maxOrder, tolerance);
+    }
+
+    /**
+     * Таблица во float: разности считаются в double, вычисление — см. {@link FloatNewton}.
+     * Допуск не применяется; выше {@link FloatNewton#MAX_ORDER} — общий путь через double.
+     */
     @Override
-    public double value(double[] xs, double[] ys, double x) {
-        int size = xs.length;
-        double step = xs[1] - xs[0];
-        double tau = (x - xs[size - 1]) / step;
+    public FloatInterpolant prepareFloat(FloatDataSet data) {
+        GaussUtils.requireEquallySpaced(data.grid(), "Newton backward");
+        int order = Math.min(maxOrder, data.ys().length - 1);
+        if (order > FloatNewton.MAX_ORDER) {
+            return InterpolationMethod.super.prepareFloat(data);
+        }
+        float[] bottom = GaussUtils.backwardDiagonal(data.ys());
+        return new FloatNewton(data.grid().max(), data.grid().step(), bottom, order, true);
+    }
 
-        double[][] diff = GaussUtils.forwardDifferences(ys);
+    /** Формула по готовой нижней диагонали таблицы (bottom[k] = Δ^k y_{n-1-k}). */
+    static AdaptiveInterpolant fromDiagonal(double origin, double step, double[] bottom,
+                                            int maxOrder, double tolerance) {
+        return new Prepared(origin, step, bottom, Math.min(maxOrder, bottom.length - 1), tolerance);
+    }
 
-        double result = diff[size - 1][0];
-        double factor = 1.0;
+    private record Prepared(double origin, double step, double[] bottom, int order, double tolerance)
+            implements TauPolynomial, AdaptiveInterpolant {
 
-        for (int k = 1; k < size; k++) {
-            factor *= (tau + (k - 1)) / k;
-            result += factor * diff[size - 1 - k][k];
+        @Override
+        public NewtonForm tauForm() {
+            double[] centers = new double[order];
+            for (int k = 0; k < centers.length; k++) {
+                centers[k] = -k;
+            }
+            return NewtonForm.fromDifferences(centers, bottom, order);
+        }
+
+        @Override
+        public long retainedBytes() {
+            return Footprint.of(bottom);
+        }
+
+        @Override
+        public double lowerTau() {
+            return -order;
+        }
+
+        @Override
+        public double upperTau() {
+            return 0;
+        }
+
+        @Override
+        public int maxOrder() {
+            return order;
+        }
+
+        @Override
+        public Evaluation evaluate(double x) {
+            double tau = (x - origin) / step;
+
+            double result = bottom[0];
+            double factor = 1.0;
+            int quiet = 0;
+            int k = 1;
+
+            for (; k <= order && quiet < Truncation.QUIET_TERMS; k++) {
+                factor *= (tau + (k - 1)) / k;
+                double term = factor * bottom[k];
+                result += term;
+                quiet = Math.abs(term) < tolerance ? quiet + 1 : 0;
+            }
+            return new Evaluation(result, k - 1);
+        }
+
+        @Override
+        public void valuesAt(double[] queries, int offset, int length, double[] out) {
+            Batches.checkRange(queries, offset, length, out);
+            double[] tau = new double[Math.min(length, Batches.CHUNK)];
+            double[] factor = new double[tau.length];
+            int[] quiet = new int[tau.length];
+
+            for (int start = offset, end = offset + length; start < end; start += Batches.CHUNK) {
+                int count = Math.min(Batches.CHUNK, end - start);
+                for (int i = 0; i < count; i++) {
+                    tau[i] = (queries[start + i] - origin) / step;
+                    factor[i] = 1.0;
+                    quiet[i] = 0;
+                    out[start + i] = bottom[0];
+                }
+                int active = count;
+                for (int k = 1; k <= order && active > 0; k++) {
+                    double shift = k - 1;
+                    double coefficient = bottom[k];
+                    if (tolerance == 0) {
+                        for (int i = 0; i < count; i++) {
+                            factor[i] *= (tau[i] + shift) / k;
+                            out[start + i] += factor[i] * coefficient;
+                        }
+                        continue;
+                    }
+                    for (int i = 0; i < count; i++) {
+                        if (quiet[i] == Truncation.QUIET_TERMS) {
+                            continue;
+                        }
+                        factor[i] *= (tau[i] + shift) / k;
+                        double term = factor[i] * coefficient;
+                        out[start + i] += term;
+                        quiet[i] = Math.abs(term) < tolerance ? quiet[i] + 1 : 0;
+                        if (quiet[i] == Truncation.QUIET_TERMS) {
+                            active--;
+                        }
+                    }
+                }
+            }
         }
-        return result;
     }
 }
-
@@ -0,0 +1,13 @@
+package methods;
+
+import io.DataSet;
+
+/** Ньютон по разделённым разностям — работает и с неравноотстоящими узлами. */
+public class NewtonDividedMethod implements InterpolationMethod {
+
+    @Override
+    public Interpolant prepare(DataSet data) {
+        double[] xs = data.xs();
+        return new NewtonForm(xs.clone(), GaussUtils.dividedDiagonal(xs, data.ys()));
+    }
+}
@@ -0,0 +1,88 @@
+package methods;
+
+/**
+ * Многочлен в форме Ньютона: c_0 + (x - x_0)(c_1 + (x - x_1)(c_2 + ...)),
+ * вычисляется вложенной схемой за O(n).
+ */
+record NewtonForm(double[] centers, double[] coefficients) implements TauPolynomial {
+
+    /** c_k = Δ_k / k! — коэффициенты при Π (τ - s_j) / k! в формулах Ньютона и Гаусса. */
+    static NewtonForm fromDifferences(double[] centers, double[] differences, int degree) {
+        double[] coefficients = new double[degree + 1];
+        double inverseFactorial = 1.0;
+        for (int k = 0; k <= degree; k++) {
+            if (k > 0) {
+                inverseFactorial /= k;
+            }
+            coefficients[k] = differences[k] * inverseFactorial;
+        }
+        return new NewtonForm(centers, coefficients);
+    }
+
+    @Override
+    public long retainedBytes() {
+        return Footprint.of(centers, coefficients);
+    }
+
+    @Override
+    public double origin() {
+        return 0.0;
+    }
+
+    @Override
+    public double step() {
+        return 1.0;
+    }
+
+    @Override
+    public NewtonForm tauForm() {
+        return this;
+    }
+
+    @Override
+    public double lowerTau() {
+        double lower = Double.POSITIVE_INFINITY;
+        for (double center : centers) {
+            lower = Math.min(lower, center);
+        }
+        return lower;
+    }
+
+    @Override
+    public double upperTau() {
+        double upper = Double.NEGATIVE_INFINITY;
+        for (double center : centers) {
+            upper = Math.max(upper, center);
+        }
+        return upper;
+    }
+
+    @Override
+    public double value(double x) {
+        int last = coefficients.length - 1;
+        double result = coefficients[last];
+        for (int k = last - 1; k >= 0; k--) {
+            result = result * (x - centers[k]) + coefficients[k];
+        }
+        return result;
+    }
+
+    @Override
+    public void valuesAt(double[] queries, int offset, int length, double[] out) {
+        Batches.checkRange(queries, offset, length, out);
+        int last = coefficients.length - 1;
+        for (int start = offset, end = offset + length; start < end; start += Batches.CHUNK) {
+            int stop = Math.min(start + Batches.CHUNK, end);
+            for (int i = start; i < stop; i++) {
+                out[i] = coefficients[last];
+            }
+            for (int k = last - 1; k >= 0; k--) {
+                double center = centers[k];
+                double coefficient = coefficients[k];
+                for (int i = start; i < stop; i++) {
+                    out[i] = out[i] * (queries[i] - center) + coefficient;
+                }
+            }
+        }
+    }
+}
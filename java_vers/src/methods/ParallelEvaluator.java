@@ -0,0 +1,145 @@
+package methods;
+
+import io.DataSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Параллельная подготовка и вычисление нескольких методов на fork-join пуле.
+ * Работа делится по методам и по блокам точек; каждый блок пишет только
+ * в свой участок результата, поэтому ответ не зависит от расписания потоков.
+ * На маленьких таблицах всё считается последовательно в вызывающем потоке.
+ */
+public final class ParallelEvaluator {
+
+    /** Меньше этого числа узлов таблицы подготовка не распараллеливается. */
+    static final int PARALLEL_NODES = 64;
+    /** Оценка работы (методы × точки × узлы), ниже которой точки считаются последовательно. */
+    static final long PARALLEL_WORK = 1L << 15;
+    private static final int MIN_SLICE = 64;
+
+    private final ForkJoinPool pool;
+
+    public ParallelEvaluator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelEvaluator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Подготовленные интерполянты в порядке {@code methods}. */
+    public List<Interpolant> prepareAll(List<? extends InterpolationMethod> methods, DataSet data) {
+        List<Interpolant> prepared = new ArrayList<>(methods.size());
+        if (methods.size() < 2 || data.xs().length < PARALLEL_NODES) {
+            for (InterpolationMethod method : methods) {
+                prepared.add(method.prepare(data));
+            }
+            return prepared;
+        }
+
+        List<ForkJoinTask<Interpolant>> tasks = new ArrayList<>(methods.size());
+        for (InterpolationMethod method : methods) {
+            tasks.add(ForkJoinTask.adapt(() -> method.prepare(data)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        for (ForkJoinTask<Interpolant> task : tasks) {
+            prepared.add(task.join());
+        }
+        return prepared;
+    }
+
+    /**
+     * result[m][i] — значение m-го интерполянта в queries[i].
+     * {@code tableSize} — число узлов таблицы, оценка стоимости одной точки.
+     */
+    public double[][] valuesAt(List<? extends Interpolant> interpolants, double[] queries, int tableSize) {
+        double[][] result = new double[interpolants.size()][queries.length];
+        long work = (long) interpolants.size() * queries.length * tableSize;
+        if (work < PARALLEL_WORK) {
+            for (int m = 0; m < interpolants.size(); m++) {
+                interpolants.get(m).valuesAt(queries, result[m]);
+            }
+            return result;
+        }
+
+        int slice = Math.max(MIN_SLICE, queries.length / (4 * pool.getParallelism()));
+        List<Slice> slices = new ArrayList<>(interpolants.size());
+        for (int m = 0; m < interpolants.size(); m++) {
+            slices.add(new Slice(interpolants.get(m), queries, 0, queries.length, result[m], slice));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(slices)));
+        return result;
+    }
+
+    /**
+     * {@code task} для каждого интерполянта, результаты в том же порядке.
+     * Параллельно — по тем же правилам, что и {@link #prepareAll}.
+     */
+    public <T> List<T> mapAll(List<? extends Interpolant> interpolants, int tableSize,
+                              Function<? super Interpolant, ? extends T> task) {
+        List<T> results = new ArrayList<>(interpolants.size());
+        if (interpolants.size() < 2 || tableSize < PARALLEL_NODES) {
+            for (Interpolant interpolant : interpolants) {
+                results.add(task.apply(interpolant));
+            }
+            return results;
+        }
+
+        List<ForkJoinTask<? extends T>> tasks = new ArrayList<>(interpolants.size());
+        for (Interpolant interpolant : interpolants) {
+            tasks.add(ForkJoinTask.adapt(() -> task.apply(interpolant)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        for (ForkJoinTask<? extends T> t : tasks) {
+            results.add(t.join());
+        }
+        return results;
+    }
+
+    public double[][] evaluate(List<? extends InterpolationMethod> methods, DataSet data, double[] queries) {
+        return valuesAt(prepareAll(methods, data), queries, data.xs().length);
+    }
+
+    /**
+     * ForkJoinTask сериализуем по наследству, но задачи живут только внутри
+     * пула и никогда не сериализуются — поля вроде {@link Interpolant} этого и не умеют.
+     */
+    @SuppressWarnings("serial")
+    private static final class Slice extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Interpolant interpolant;
+        private final double[] queries;
+        private final int offset;
+        private final int length;
+        private final double[] out;
+        private final int grain;
+
+        Slice(Interpolant interpolant, double[] queries, int offset, int length, double[] out, int grain) {
+            this.interpolant = interpolant;
+            this.queries = queries;
+            this.offset = offset;
+            this.length = length;
+            this.out = out;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (length <= grain) {
+                interpolant.valuesAt(queries, offset, length, out);
+                return;
+            }
+            int half = length / 2;
+            invokeAll(new Slice(interpolant, queries, offset, half, out, grain),
+                    new Slice(interpolant, queries, offset + half, length - half, out, grain));
+        }
+    }
+}
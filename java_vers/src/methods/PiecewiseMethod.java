@@ -0,0 +1,150 @@
+package methods;
+
+import io.DataSet;
+import io.Nodes;
+
+/**
+ * Кусочная интерполяция для больших таблиц: точка x ищется в таблице
+ * (двоичным поиском или за O(1) на равномерной сетке), после чего любой
+ * из методов применяется к k ближайшим узлам. Запрос стоит O(log n + k),
+ * а подготовка трафарета O(k²) выполняется только при переходе к новому.
+ */
+public class PiecewiseMethod implements InterpolationMethod {
+
+    private final InterpolationMethod local;
+    private final int stencil;
+
+    public PiecewiseMethod(InterpolationMethod local, int stencil) {
+        if (stencil < 2) {
+            throw new IllegalArgumentException("Stencil must contain at least two nodes.");
+        }
+        this.local = local;
+        this.stencil = stencil;
+    }
+
+    /**
+     * Узлы отсортированы, и локальный метод применим к трафарету. Трафарет
+     * он видит с сеткой всей таблицы: методы на разностях требуют, чтобы
+     * равномерной была вся таблица, а не случайно первые k узлов.
+     */
+    @Override
+    public boolean supports(DataSet data) {
+        return applicable(data);
+    }
+
+    @Override
+    public Interpolant prepare(DataSet data) {
+        requireApplicable(data);
+        if (data.xs().length <= stencil) {
+            return local.prepare(data);
+        }
+        return new Piecewise(local, stencil, new DataSet(data.xs().clone(), data.ys().clone(), data.grid()));
+    }
+
+    /**
+     * То же для любой таблицы с доступом по индексу, в том числе {@link io.OffHeapTable}:
+     * на кучу копируются только трафареты по {@code stencil} узлов. Таблица не
+     * копируется, поэтому должна оставаться открытой, пока нужен интерполянт.
+     */
+    public Interpolant prepare(Nodes nodes) {
+        requireApplicable(nodes);
+        if (nodes.size() <= stencil) {
+            return local.prepare(nodes.window(0, (int) nodes.size()));
+        }
+        return new Piecewise(local, stencil, nodes);
+    }
+
+    private boolean applicable(Nodes nodes) {
+        if (!nodes.grid().sorted()) {
+            return false;
+        }
+        DataSet window = nodes.window(0, (int) Math.min(stencil, nodes.size()));
+        return local.supports(new DataSet(window.xs(), window.ys(), nodes.grid()));
+    }
+
+    /** Отказ сразу при подготовке, а не на первом запросе к трафарету. */
+    private void requireApplicable(Nodes nodes) {
+        if (!nodes.grid().sorted()) {
+            throw new IllegalArgumentException("Piecewise interpolation requires nodes sorted by x.");
+        }
+        if (!applicable(nodes)) {
+            throw new IllegalArgumentException("The local method does not support stencils of this table "
+                    + "(finite-difference methods require equally spaced nodes).");
+        }
+    }
+
+    private record Stencil(long start, Interpolant interpolant) {}
+
+    private static final class Piecewise implements Interpolant {
+
+        private final InterpolationMethod local;
+        private final int stencil;
+        private final Nodes nodes;
+        private final long size;
+        private final double origin;
+        private final boolean uniform;
+        private final double step;
+
+        /** Последний использованный трафарет; соседние запросы обычно попадают в него же. */
+        private volatile Stencil last;
+
+        Piecewise(InterpolationMethod local, int stencil, Nodes nodes) {
+            this.local = local;
+            this.stencil = stencil;
+            this.nodes = nodes;
+            this.size = nodes.size();
+            this.origin = nodes.x(0);
+            this.uniform = nodes.grid().uniform();
+            this.step = nodes.grid().step();
+        }
+
+        @Override
+        public double value(double x) {
+            return stencilAt(start(x)).value(x);
+        }
+
+        @Override
+        public void valuesAt(double[] queries, int offset, int length, double[] out) {
+            Batches.checkRange(queries, offset, length, out);
+            int end = offset + length;
+            int runStart = offset;
+            while (runStart < end) {
+                long start = start(queries[runStart]);
+                int runEnd = runStart + 1;
+                while (runEnd < end && start(queries[runEnd]) == start) {
+                    runEnd++;
+                }
+                stencilAt(start).valuesAt(queries, runStart, runEnd - runStart, out);
+                runStart = runEnd;
+            }
+        }
+
+        /** Копия таблицы на куче; таблица вне кучи куче почти ничего не стоит. */
+        @Override
+        public long retainedBytes() {
+            return nodes instanceof DataSet data ? Footprint.of(data.xs(), data.ys()) : Footprint.OBJECT;
+        }
+
+        /** Номер первого узла трафарета, окружающего x. */
+        private long start(double x) {
+            long left;
+            if (uniform) {
+                double position = Math.floor((x - origin) / step);
+                left = (long) Math.max(0, Math.min(size - 2, position));
+            } else {
+                left = nodes.locate(x);
+            }
+            long start = left - (stencil / 2 - 1);
+            return Math.max(0, Math.min(size - stencil, start));
+        }
+
+        private Interpolant stencilAt(long start) {
+            Stencil cached = last;
+            if (cached == null || cached.start() != start) {
+                cached = new Stencil(start, local.prepare(nodes.window(start, stencil)));
+                last = cached;
+            }
+            return cached.interpolant();
+        }
+    }
+}
@@ -1,52 +1,115 @@
 package methods;
 
+import io.DataSet;
+
 public class StirlingMethod implements InterpolationMethod {
 
+    /** Классическая таблица Стирлинга — до четвёртых разностей. */
+    public static final int DEFAULT_ORDER = 4;
+
     private static final double EPS = 1e-12;
 
+    private final int maxOrder;
+    private final double tolerance;
+
+    public StirlingMethod() {
+        this(DEFAULT_ORDER, EPS);
+    }
+
+    /**
+     * @param maxOrder  старший порядок разностей в формуле (не меньше 1)
+     * @param tolerance сумма обрывается после двух членов подряд меньше него; 0 — не обрывается
+     */
+    public StirlingMethod(int maxOrder, double tolerance) {
+        Truncation.check(maxOrder, tolerance);
+        this.maxOrder = maxOrder;
+        this.tolerance = tolerance;
+    }
+
     @Override
-    public double value(double[] xs, double[] ys, double x) {
+    public boolean supports(DataSet data) {
+        return data.grid().uniform() && data.xs().length >= 3;
+    }
 
+    @Override
+    public Interpolant prepare(DataSet data) {
+        GaussUtils.requireEquallySpaced(data, "Stirling");
+        double[] xs = data.xs();
         int n = xs.length;
         if (n < 3) {
             throw new IllegalArgumentException("Stirling interpolation requires at least three nodes.");
         }
+        int mid = n / 2;
+        return around(GaussUtils.centralBand(data.ys()), n, mid, xs[mid], data.grid().step(),
+                maxOrder, tolerance);
+    }
 
-        int mid   = n / 2;
-        double h  = xs[1] - xs[0];
-        double t  = (x - xs[mid]) / h;
-        double[][] d = GaussUtils.forwardDifferences(ys);
-
-        double result = ys[mid];
-        double term;
-
-
-        if (mid - 1 >= 0) {
-            term = t * (d[mid][1] + d[mid - 1][1]) / 2.0;
-            result += term;
-            if (Math.abs(term) < EPS) return result;
+    /**
+     * Формула с центром в узле {@code mid} таблицы из n узлов. Порядок
+     * k = 2j - 1 берёт среднее Δ^k y_{mid-j} и Δ^k y_{mid-j+1}, порядок
+     * k = 2j — Δ^k y_{mid-j}. Обе пары есть в таблице, пока mid + j ≤ n - 1,
+     * так что доступны порядки до 2·min(mid, n - 1 - mid).
+     */
+    static AdaptiveInterpolant around(Differences band, int n, int mid, double center, double h,
+                                      int maxOrder, double tolerance) {
+        int order = (int) Math.min(maxOrder, 2L * Math.min(mid, n - 1 - mid));
+        double[] coefficients = new double[order + 1];
+        coefficients[0] = band.at(mid, 0);
+        double inverseFactorial = 1.0;
+        for (int k = 1; k <= order; k++) {
+            inverseFactorial /= k;
+            int row = mid - (k + 1) / 2;
+            double difference = (k % 2 == 1)
+                    ? (band.at(row, k) + band.at(row + 1, k)) / 2.0
+                    : band.at(row, k);
+            coefficients[k] = difference * inverseFactorial;
         }
+        return new Prepared(center, h, coefficients, tolerance);
+    }
 
+    /**
+     * Коэффициенты — разности, уже делённые на k!. Множители при них:
+     * g_1 = t, g_{2j} = t·g_{2j-1}, g_{2j+1} = g_{2j-1}·(t² - j²).
+     */
+    private record Prepared(double center, double h, double[] coefficients, double tolerance)
+            implements AdaptiveInterpolant {
 
-        if (mid - 1 >= 0 && mid - 1 < n - 1) {
-            term = t * t * d[mid - 1][2] / 2.0;
-            result += term;
-            if (Math.abs(term) < EPS) return result;
+        @Override
+        public long retainedBytes() {
+            return Footprint.of(coefficients);
         }
 
-
-        if (mid - 2 >= 0 && mid - 1 < n - 2) {
-            term = t * (t * t - 1) * (d[mid - 1][3] + d[mid - 2][3]) / 12.0;
-            result += term;
-            if (Math.abs(term) < EPS) return result;
+        @Override
+        public int maxOrder() {
+            return coefficients.length - 1;
         }
 
+        @Override
+        public Evaluation evaluate(double x) {
+            double t = (x - center) / h;
+            double square = t * t;
 
-        if (n >= 5 && mid - 2 >= 0 && mid - 2 < n - 3) {
-            term = t * t * (t * t - 1) * d[mid - 2][4] / 24.0;
-            result += term;
-        }
+            double result = coefficients[0];
+            double odd = t;
+            int quiet = 0;
+            int k = 1;
 
-        return result;
+            for (; k < coefficients.length && quiet < Truncation.QUIET_TERMS; k++) {
+                double factor;
+                if (k % 2 == 1) {
+                    if (k > 1) {
+                        double j = k / 2;
+                        odd *= square - j * j;
+                    }
+                    factor = odd;
+                } else {
+                    factor = t * odd;
+                }
+                double term = factor * coefficients[k];
+                result += term;
+                quiet = Math.abs(term) < tolerance ? quiet + 1 : 0;
+            }
+            return new Evaluation(result, k - 1);
+        }
     }
 }
@@ -0,0 +1,100 @@
+package methods;
+
+import java.util.Arrays;
+
+/**
+ * Интерполянт Ньютона, который пополняется узлами по одному.
+ * <p>
+ * Хранится нижняя диагональ таблицы разделённых разностей
+ * e_k = f[x_{n-1-k}, ..., x_{n-1}], т.е. коэффициенты формы Ньютона с узлами
+ * в обратном порядке. Новый узел пересчитывает её за O(n), а выбрасывание
+ * самого старого узла в режиме окна — это просто отбрасывание старшего члена.
+ * <p>
+ * Класс не потокобезопасен; для чтения из других потоков есть {@link #snapshot()}.
+ */
+public final class StreamingNewton {
+
+    private final int window;
+    private double[] nodes;
+    private double[] edge;
+    private int size;
+
+    /** Без ограничения числа узлов. */
+    public StreamingNewton() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /** Хранит не больше {@code window} последних узлов. */
+    public StreamingNewton(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must hold at least one node.");
+        }
+        this.window = window;
+        int capacity = Math.min(window, 16);
+        this.nodes = new double[capacity];
+        this.edge = new double[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Добавляет узел; в заполненном окне самый старый узел уходит, поэтому его x
+     * можно добавить снова. Повтор любого другого x — IllegalArgumentException,
+     * и состояние при этом не меняется.
+     */
+    public void append(double x, double y) {
+        for (int i = size == window ? 1 : 0; i < size; i++) {
+            if (nodes[i] == x) {
+                throw new IllegalArgumentException("Node x = " + x + " is already present.");
+            }
+        }
+        if (size == window) {
+            dropOldest();
+        }
+        if (size == nodes.length) {
+            int capacity = (int) Math.min(window, 2L * nodes.length);
+            nodes = Arrays.copyOf(nodes, capacity);
+            edge = Arrays.copyOf(edge, capacity);
+        }
+
+        double carried = y;
+        for (int k = 1; k <= size; k++) {
+            double previous = edge[k - 1];
+            edge[k - 1] = carried;
+            carried = (carried - previous) / (x - nodes[size - k]);
+        }
+        edge[size] = carried;
+        nodes[size] = x;
+        size++;
+    }
+
+    private void dropOldest() {
+        System.arraycopy(nodes, 1, nodes, 0, size - 1);
+        size--;
+    }
+
+    public double value(double x) {
+        if (size == 0) {
+            throw new IllegalStateException("No nodes appended yet.");
+        }
+        double result = edge[size - 1];
+        for (int k = size - 2; k >= 0; k--) {
+            result = result * (x - nodes[size - 1 - k]) + edge[k];
+        }
+        return result;
+    }
+
+    /** Неизменяемая копия текущего многочлена. */
+    public Interpolant snapshot() {
+        if (size == 0) {
+            throw new IllegalStateException("No nodes appended yet.");
+        }
+        double[] centers = new double[size];
+        for (int k = 0; k < size; k++) {
+            centers[k] = nodes[size - 1 - k];
+        }
+        return new NewtonForm(centers, Arrays.copyOf(edge, size));
+    }
+}
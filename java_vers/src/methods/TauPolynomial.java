@@ -0,0 +1,21 @@
+package methods;
+
+/**
+ * Подготовленный интерполянт, который внутри — многочлен в форме Ньютона
+ * по τ = (x - origin) / step. Такой интерполянт можно скомпилировать
+ * в {@link CompiledPolynomial}.
+ */
+interface TauPolynomial extends Interpolant {
+
+    double origin();
+
+    double step();
+
+    /** Тот же многочлен во вложенной форме Ньютона по τ. */
+    NewtonForm tauForm();
+
+    /** Отрезок узлов таблицы по τ — на нём строится чебышёвское разложение. */
+    double lowerTau();
+
+    double upperTau();
+}
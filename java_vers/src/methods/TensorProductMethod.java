@@ -0,0 +1,30 @@
+package methods;
+
+import io.GridDataSet;
+
+/**
+ * Интерполяция на прямоугольной сетке произведением одномерных: один и тот же
+ * метод применяется сначала вдоль x, затем вдоль y. Вдоль x интерполянты
+ * готовятся один раз — по одному на каждый узел y; вдоль y — по столбцу
+ * значений в точке x, см. {@link GridInterpolant}.
+ */
+public final class TensorProductMethod {
+
+    private final InterpolationMethod method;
+
+    public TensorProductMethod(InterpolationMethod method) {
+        this.method = method;
+    }
+
+    public GridInterpolant prepare(GridDataSet data) {
+        if (!method.supports(data.alongX(0)) || !method.supports(data.alongY(0))) {
+            throw new IllegalArgumentException("Method does not support this grid: "
+                    + method.getClass().getSimpleName());
+        }
+        Interpolant[] lines = new Interpolant[data.ys().length];
+        for (int j = 0; j < lines.length; j++) {
+            lines[j] = method.prepare(data.alongX(j));
+        }
+        return new GridInterpolant(method, data.ys(), data.yGrid(), lines);
+    }
+}
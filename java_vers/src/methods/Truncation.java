@@ -0,0 +1,28 @@
+package methods;
+
+/**
+ * Общие правила усечения для методов на конечных разностях, см.
+ * {@link AdaptiveInterpolant}. Одиночный малый член ещё не повод
+ * останавливаться: у симметричных данных нечётные разности Стирлинга
+ * почти нулевые при заметных чётных, а в формуле Бесселя при τ = 0
+ * зануляются нечётные множители. Поэтому нужен второй малый член подряд.
+ */
+final class Truncation {
+
+    /** Без ограничения порядка — сумма идёт до последней разности таблицы. */
+    static final int ALL_ORDERS = Integer.MAX_VALUE;
+
+    /** Сколько членов подряд должны быть меньше допуска. */
+    static final int QUIET_TERMS = 2;
+
+    private Truncation() {}
+
+    static void check(int maxOrder, double tolerance) {
+        if (maxOrder < 1) {
+            throw new IllegalArgumentException("Maximum order must be at least 1: " + maxOrder);
+        }
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("Tolerance must be non-negative: " + tolerance);
+        }
+    }
+}
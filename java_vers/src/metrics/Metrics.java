@@ -0,0 +1,119 @@
+package metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Инструментирование горячих участков: таймеры по именам с числом вызовов,
+ * гистограммой задержек и выделенной памятью, плюс события JFR
+ * {@code interpolation.Span}.
+ * <p>
+ * Включается свойством {@code -Dinterp.metrics=true}. Флаг — {@code static final},
+ * поэтому в выключенном состоянии JIT выбрасывает проверки целиком:
+ * {@link Timer#start()} возвращает общий пустой {@link Span}, а методы
+ * интерполяции из {@code MethodRegistry} не оборачиваются вовсе.
+ * {@code -Dinterp.metrics.json=файл} дополнительно пишет сводку в JSON
+ * при завершении JVM.
+ */
+public final class Metrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("interp.metrics");
+
+    private static final ConcurrentHashMap<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    static {
+        String json = System.getProperty("interp.metrics.json");
+        if (ENABLED && json != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    writeJson(Path.of(json));
+                } catch (IOException e) {
+                    System.err.println("Не удалось записать метрики: " + e.getMessage());
+                }
+            }, "metrics-export"));
+        }
+    }
+
+    private Metrics() {}
+
+    /** Таймер с именем {@code name}; повторный вызов возвращает тот же объект. */
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Timer::new);
+    }
+
+    /** Таймеры, по которым были вызовы, по имени. */
+    public static List<Timer> timers() {
+        List<Timer> used = new ArrayList<>();
+        for (Timer timer : TIMERS.values()) {
+            if (timer.count() > 0) {
+                used.add(timer);
+            }
+        }
+        used.sort(Comparator.comparing(Timer::name));
+        return used;
+    }
+
+    public static void reset() {
+        TIMERS.values().forEach(Timer::reset);
+    }
+
+    /** Таблица для консоли: вызовы, суммарное время, p50/p99/max, выделенная память. */
+    public static String summary() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-32s %9s %11s %10s %10s %10s %12s%n",
+                "участок", "вызовов", "всего, мс", "p50, мкс", "p99, мкс", "max, мкс", "выделено, КБ"));
+        for (Timer t : timers()) {
+            out.append(String.format(Locale.ROOT, "%-32s %9d %11.3f %10.1f %10.1f %10.1f %12.1f%n",
+                    t.name(), t.count(), t.totalNanos() / 1e6,
+                    t.percentileNanos(0.50) / 1e3, t.percentileNanos(0.99) / 1e3, t.maxNanos() / 1e3,
+                    t.allocatedBytes() / 1024.0));
+        }
+        return out.toString();
+    }
+
+    public static String toJson() {
+        StringBuilder out = new StringBuilder("{\"timers\":[");
+        List<Timer> timers = timers();
+        for (int i = 0; i < timers.size(); i++) {
+            Timer t = timers.get(i);
+            if (i > 0) out.append(',');
+            out.append(String.format(Locale.ROOT,
+                    "{\"name\":\"%s\",\"count\":%d,\"totalNanos\":%d,\"p50Nanos\":%d,\"p99Nanos\":%d,"
+                            + "\"maxNanos\":%d,\"allocatedBytes\":%d,\"histogram\":%s}",
+                    t.name(), t.count(), t.totalNanos(), t.percentileNanos(0.50), t.percentileNanos(0.99),
+                    t.maxNanos(), t.allocatedBytes(), t.histogramJson()));
+        }
+        return out.append("]}").toString();
+    }
+
+    public static void writeJson(Path file) throws IOException {
+        Files.writeString(file, toJson(), StandardCharsets.UTF_8);
+    }
+
+    /** Байты, выделенные текущим потоком с его старта, или 0, если JVM этого не умеет. */
+    static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            try {
+                bean.setThreadAllocatedMemoryEnabled(true);
+                return bean;
+            } catch (UnsupportedOperationException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package metrics;
+
+/**
+ * Один замер, закрывается в {@code try-with-resources}. Пустой экземпляр
+ * {@link #NOOP} ничего не делает и не выделяет память.
+ */
+public final class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span();
+
+    private final Timer timer;
+    private final long startNanos;
+    private final long startBytes;
+    private final SpanEvent event;
+
+    private Span() {
+        this.timer = null;
+        this.startNanos = 0;
+        this.startBytes = 0;
+        this.event = null;
+    }
+
+    Span(Timer timer) {
+        this.timer = timer;
+        this.event = new SpanEvent();
+        this.event.begin();
+        this.startBytes = Metrics.allocatedBytes();
+        this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+        if (timer == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - startNanos;
+        long bytes = Metrics.allocatedBytes() - startBytes;
+        timer.record(nanos, bytes);
+        event.end();
+        if (event.shouldCommit()) {
+            event.probe = timer.name();
+            event.allocatedBytes = bytes;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Событие JFR на каждый замер; видно в JMC как «Interpolation / Span». */
+@Name("interpolation.Span")
+@Label("Span")
+@Category("Interpolation")
+@Description("Замер участка интерполяции: таблица разностей, подготовка, вычисление, чтение, график")
+final class SpanEvent extends Event {
+
+    @Label("Probe")
+    String probe;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
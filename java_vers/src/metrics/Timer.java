@@ -0,0 +1,116 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики одного участка кода. Задержки копятся в гистограмме по
+ * степеням двойки (корзина k — от 2^k до 2^(k+1) нс), так что запись —
+ * один атомарный инкремент и перцентили точны до множителя 2.
+ * <pre>
+ *   private static final Timer PREPARE = Metrics.timer("stirling.prepare");
+ *
+ *   &#64;SuppressWarnings("try")      // span нужен только ради close()
+ *   Interpolant prepare(DataSet data) {
+ *       try (Span span = PREPARE.start()) { ... }
+ *   }
+ * </pre>
+ * Обёртки вида {@code time(Supplier)} здесь намеренно нет: захватывающая
+ * лямбда на горячем пути стоила бы выделения и при выключенных метриках.
+ */
+public final class Timer {
+
+    private static final int BUCKETS = 64;
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder allocated = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    /** Начинает замер; при выключенных метриках — пустой общий {@link Span}. */
+    public Span start() {
+        if (!Metrics.ENABLED) {
+            return Span.NOOP;
+        }
+        return new Span(this);
+    }
+
+    void record(long nanos, long bytes) {
+        count.increment();
+        totalNanos.add(nanos);
+        allocated.add(bytes);
+        maxNanos.accumulate(nanos);
+        histogram.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(1, nanos)));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    /** Память, выделенная потоком внутри замеров (без работы, отданной другим потокам). */
+    public long allocatedBytes() {
+        return allocated.sum();
+    }
+
+    /** Верхняя граница корзины, в которую попадает перцентиль {@code q}. */
+    public long percentileNanos(double q) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int k = 0; k < BUCKETS; k++) {
+            counts[k] = histogram.get(k);
+            total += counts[k];
+        }
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int k = 0; k < BUCKETS; k++) {
+            seen += counts[k];
+            if (seen >= rank && seen > 0) {
+                return Math.min(k >= 62 ? Long.MAX_VALUE : 2L << k, Math.max(maxNanos(), 1));
+            }
+        }
+        return 0;
+    }
+
+    String histogramJson() {
+        StringBuilder out = new StringBuilder("{");
+        boolean first = true;
+        for (int k = 0; k < BUCKETS; k++) {
+            long c = histogram.get(k);
+            if (c > 0) {
+                if (!first) out.append(',');
+                out.append('"').append(1L << k).append("\":").append(c);
+                first = false;
+            }
+        }
+        return out.append('}').toString();
+    }
+
+    void reset() {
+        count.reset();
+        totalNanos.reset();
+        allocated.reset();
+        maxNanos.reset();
+        for (int k = 0; k < BUCKETS; k++) {
+            histogram.set(k, 0);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package plot;
+
+import methods.Interpolant;
+
+import java.util.Arrays;
+
+/**
+ * Адаптивная выборка кривой для графика. Начинает с {@link #INITIAL} равных
+ * интервалов и делит пополам те, где ломаная отходит от кривой больше чем
+ * на долю пикселя: для каждой внутренней точки сравнивается её значение с
+ * хордой через соседей. Так плоские участки остаются редкими, а осцилляции
+ * у краёв многочлена высокой степени прорисовываются. Все новые точки раунда
+ * считаются одним пакетным вызовом {@link Interpolant#valuesAt}.
+ */
+final class AdaptiveSampler {
+
+    /** Точек на кривую по умолчанию — порядка двух на пиксель ширины графика. */
+    static final int DEFAULT_BUDGET = 1200;
+    private static final int INITIAL = 64;
+    /** Высота графика в «пикселях», по которой считается допуск по y. */
+    private static final double PIXELS = 1000;
+
+    private AdaptiveSampler() {}
+
+    /** {xs, ys} не больше чем из {@code budget} точек на [left, right]. */
+    static double[][] sample(Interpolant f, double left, double right, int budget) {
+        int n = Math.min(INITIAL, budget - 1);
+        double[] xs = uniform(left, right, n);
+        double[] ys = new double[n + 1];
+        f.valuesAt(xs, ys);
+
+        double minWidth = (right - left) / (budget * 64.0);
+        int size = n + 1;
+        while (size < budget) {
+            double tolerance = span(ys, size) / PIXELS;
+            boolean[] split = new boolean[size - 1];
+            int splits = 0;
+            for (int i = 1; i < size - 1 && size + splits < budget; i++) {
+                double chord = ys[i - 1] + (ys[i + 1] - ys[i - 1]) * (xs[i] - xs[i - 1]) / (xs[i + 1] - xs[i - 1]);
+                boolean rough = !(Math.abs(ys[i] - chord) <= tolerance);
+                if (rough) {
+                    splits += mark(split, i - 1, xs, minWidth) + mark(split, i, xs, minWidth);
+                }
+            }
+            if (splits == 0) {
+                break;
+            }
+
+            double[] mids = new double[splits];
+            for (int i = 0, k = 0; i < size - 1; i++) {
+                if (split[i]) {
+                    mids[k++] = 0.5 * (xs[i] + xs[i + 1]);
+                }
+            }
+            double[] midYs = new double[splits];
+            f.valuesAt(mids, midYs);
+
+            double[] nextXs = new double[size + splits];
+            double[] nextYs = new double[size + splits];
+            for (int i = 0, j = 0, k = 0; i < size; i++) {
+                nextXs[j] = xs[i];
+                nextYs[j++] = ys[i];
+                if (i < size - 1 && split[i]) {
+                    nextXs[j] = mids[k];
+                    nextYs[j++] = midYs[k++];
+                }
+            }
+            xs = nextXs;
+            ys = nextYs;
+            size = xs.length;
+        }
+        return new double[][]{xs, ys};
+    }
+
+    private static int mark(boolean[] split, int interval, double[] xs, double minWidth) {
+        if (split[interval] || xs[interval + 1] - xs[interval] < minWidth) {
+            return 0;
+        }
+        split[interval] = true;
+        return 1;
+    }
+
+    private static double span(double[] ys, int size) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            if (Double.isFinite(ys[i])) {
+                min = Math.min(min, ys[i]);
+                max = Math.max(max, ys[i]);
+            }
+        }
+        return max > min ? max - min : Math.max(1.0, Math.abs(max)) * 1e-9;
+    }
+
+    /** {@code points + 1} равноотстоящих точек с точными концами. */
+    static double[] uniform(double left, double right, int points) {
+        double[] xs = new double[points + 1];
+        double step = (right - left) / points;
+        Arrays.setAll(xs, i -> left + i * step);
+        xs[points] = right;
+        return xs;
+    }
+}
@@ -0,0 +1,202 @@
+package plot;
+
+import io.DataSet;
+import io.FileDataProvider;
+import methods.InterpolationMethod;
+import methods.MethodRegistry;
+import methods.ParallelEvaluator;
+import org.jfree.chart.ChartUtils;
+import org.jfree.chart.JFreeChart;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Отрисовка графиков в файлы без окна — для сборочных и отчётных машин.
+ * Работает при {@code java.awt.headless=true}: строится тот же
+ * {@link JFreeChart}, что и в {@link GraphPlotter#show}, и сразу пишется
+ * в PNG и/или SVG.
+ * <p>
+ * Каждый график — отдельная задача на пуле из {@code threads} потоков.
+ * Серии считаются один раз на задачу; все запрошенные размеры рисуются
+ * из одного и того же графика.
+ */
+public final class ChartRenderer implements AutoCloseable {
+
+    public enum Format { PNG, SVG }
+
+    public record Size(int width, int height) {
+
+        public Size {
+            if (width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("Некорректный размер: " + width + "x" + height);
+            }
+        }
+
+        /** {@code 800x600}. */
+        public static Size parse(String text) {
+            String[] parts = text.trim().toLowerCase(Locale.ROOT).split("x");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Размер задаётся как ШИРИНАxВЫСОТА: " + text);
+            }
+            return new Size(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+    }
+
+    /**
+     * {@code Main --render <каталог> [--size 800x600,1600x1200] [--format png,svg] [--threads N] таблица...}:
+     * по графику на каждый файл таблицы (текстовый или двоичный) со всеми
+     * применимыми стандартными методами.
+     */
+    public static void main(String[] args) throws IOException {
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        Path directory = null;
+        List<Size> sizes = List.of(new Size(800, 600));
+        Set<Format> formats = EnumSet.of(Format.PNG);
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Path> tables = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--render" -> directory = Path.of(args[++i]);
+                case "--size"   -> sizes = Arrays.stream(args[++i].split(",")).map(Size::parse).toList();
+                case "--format" -> formats = Arrays.stream(args[++i].split(","))
+                        .map(f -> Format.valueOf(f.trim().toUpperCase(Locale.ROOT)))
+                        .collect(Collectors.toCollection(() -> EnumSet.noneOf(Format.class)));
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                default -> tables.add(Path.of(args[i]));
+            }
+        }
+        if (directory == null || tables.isEmpty()) {
+            throw new IllegalArgumentException("Нужны --render <каталог> и хотя бы один файл таблицы.");
+        }
+
+        try (ChartRenderer renderer = new ChartRenderer(threads)) {
+            Map<Path, CompletableFuture<List<Path>>> jobs = new LinkedHashMap<>();
+            for (Path table : tables) {
+                DataSet data;
+                try {
+                    data = FileDataProvider.read(table);
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println(table + ": " + e.getMessage());
+                    continue;
+                }
+                LinkedHashMap<String, InterpolationMethod> methods = new LinkedHashMap<>();
+                for (String id : MethodRegistry.standardIds()) {
+                    InterpolationMethod method = MethodRegistry.byId(id);
+                    if (method.supports(data)) {
+                        methods.put(id, method);
+                    }
+                }
+                String name = table.getFileName().toString().replaceFirst("\\.[^.]*$", "");
+                jobs.put(table, renderer.submit(data, null, methods, data.grid().min() - 0.1,
+                        data.grid().max() + 0.1, directory, name, sizes, formats));
+            }
+            // ошибка одной таблицы печатается отдельно и не мешает выводу остальных
+            jobs.forEach((table, job) -> {
+                try {
+                    job.join().forEach(System.out::println);
+                } catch (CompletionException | CancellationException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println(table + ": " + cause.getMessage());
+                }
+            });
+        }
+    }
+
+    private final ExecutorService pool;
+    private final ParallelEvaluator evaluator;
+
+    public ChartRenderer(int threads) {
+        this(threads, new ParallelEvaluator());
+    }
+
+    public ChartRenderer(int threads, ParallelEvaluator evaluator) {
+        this.pool = Executors.newFixedThreadPool(threads);
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Ставит график в очередь. Файлы называются {@code <name>-<ширина>x<высота>.<формат>}
+     * и создаются в {@code directory}; результат — их пути.
+     */
+    public CompletableFuture<List<Path>> submit(DataSet data,
+                                                DoubleUnaryOperator trueFunction,
+                                                LinkedHashMap<String, InterpolationMethod> methods,
+                                                double left, double right,
+                                                Path directory, String name,
+                                                List<Size> sizes, Set<Format> formats) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return render(data, trueFunction, methods, left, right, directory, name, sizes, formats);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, pool);
+    }
+
+    private List<Path> render(DataSet data,
+                              DoubleUnaryOperator trueFunction,
+                              LinkedHashMap<String, InterpolationMethod> methods,
+                              double left, double right,
+                              Path directory, String name,
+                              List<Size> sizes, Set<Format> formats) throws IOException {
+        XYSeriesCollection collection = GraphPlotter.createDataset(data, trueFunction, methods, left, right, evaluator);
+        JFreeChart chart = GraphPlotter.createChart(collection, trueFunction != null, methods.size());
+
+        Files.createDirectories(directory);
+        List<Path> written = new ArrayList<>(sizes.size() * formats.size());
+        for (Size size : sizes) {
+            for (Format format : formats) {
+                Path file = directory.resolve(String.format("%s-%dx%d.%s", name, size.width(), size.height(),
+                        format.name().toLowerCase(Locale.ROOT)));
+                write(chart, size, format, file);
+                written.add(file);
+            }
+        }
+        return written;
+    }
+
+    private static void write(JFreeChart chart, Size size, Format format, Path file) throws IOException {
+        switch (format) {
+            case PNG -> {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                    ChartUtils.writeChartAsPNG(out, chart, size.width(), size.height());
+                }
+            }
+            case SVG -> {
+                try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    SvgWriter.write(chart, size.width(), size.height(), out);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
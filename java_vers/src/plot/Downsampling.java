@@ -0,0 +1,73 @@
+package plot;
+
+/**
+ * Прореживание больших рядов точек перед тем, как они попадут в
+ * {@code XYSeries}: JFreeChart рисует каждую точку, и на 10⁵ узлов график
+ * перестаёт отзываться. Largest-Triangle-Three-Buckets сохраняет первую и
+ * последнюю точки и из каждого ведра берёт ту, что образует самый большой
+ * треугольник с уже выбранной точкой и средним следующего ведра, — так
+ * выбросы и перегибы не теряются.
+ */
+final class Downsampling {
+
+    private Downsampling() {}
+
+    /** {xs, ys} из не более чем {@code threshold} точек отрезка [from, to) исходных массивов. */
+    static double[][] lttb(double[] xs, double[] ys, int from, int to, int threshold) {
+        int n = to - from;
+        if (n <= threshold || threshold < 3) {
+            double[] outX = new double[n];
+            double[] outY = new double[n];
+            System.arraycopy(xs, from, outX, 0, n);
+            System.arraycopy(ys, from, outY, 0, n);
+            return new double[][]{outX, outY};
+        }
+
+        double[] outX = new double[threshold];
+        double[] outY = new double[threshold];
+        double bucket = (double) (n - 2) / (threshold - 2);
+        int a = from;
+        outX[0] = xs[a];
+        outY[0] = ys[a];
+
+        for (int b = 0; b < threshold - 2; b++) {
+            int start = from + 1 + (int) (b * bucket);
+            int end = from + 1 + (int) ((b + 1) * bucket);
+            int nextEnd = Math.min(from + 1 + (int) ((b + 2) * bucket), to);
+
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = end; i < nextEnd; i++) {
+                avgX += xs[i];
+                avgY += ys[i];
+            }
+            int count = nextEnd - end;
+            if (count == 0) {
+                avgX = xs[to - 1];
+                avgY = ys[to - 1];
+            } else {
+                avgX /= count;
+                avgY /= count;
+            }
+
+            double ax = xs[a];
+            double ay = ys[a];
+            double best = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((ax - avgX) * (ys[i] - ay) - (ax - xs[i]) * (avgY - ay));
+                if (area > best) {
+                    best = area;
+                    chosen = i;
+                }
+            }
+            outX[b + 1] = xs[chosen];
+            outY[b + 1] = ys[chosen];
+            a = chosen;
+        }
+
+        outX[threshold - 1] = xs[to - 1];
+        outY[threshold - 1] = ys[to - 1];
+        return new double[][]{outX, outY};
+    }
+}
@@ -1,30 +1,48 @@
 package plot;
 
 import io.DataSet;
+import methods.Interpolant;
 import methods.InterpolationMethod;
+import methods.ParallelEvaluator;
+import metrics.Metrics;
+import metrics.Span;
+import metrics.Timer;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.event.AxisChangeEvent;
+import org.jfree.chart.event.AxisChangeListener;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.Range;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 import javax.swing.JFrame;
+import javax.swing.SwingWorker;
 import javax.swing.WindowConstants;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Paint;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.function.DoubleUnaryOperator;
 
 public final class GraphPlotter {
 
     private GraphPlotter() {}
 
+    /** Узлов на графике не больше этого числа — остальные прореживаются LTTB. */
+    static final int NODE_BUDGET = 2000;
+
+    private static final Timer SAMPLE = Metrics.timer("plot.sample");
+    private static final Timer FILL = Metrics.timer("plot.fill");
+
     private static final Paint[] COLORS = {
             Color.BLUE, Color.GREEN.darker(), Color.ORANGE,
             Color.MAGENTA, Color.CYAN.darker(),
@@ -35,47 +53,54 @@ public final class GraphPlotter {
                             DoubleUnaryOperator trueFunction,
                             LinkedHashMap<String, InterpolationMethod> methods,
                             double left, double right) {
+        show(data, trueFunction, methods, left, right, new ParallelEvaluator());
+    }
 
-        XYSeriesCollection collection = new XYSeriesCollection();
+    public static void show(DataSet data,
+                            DoubleUnaryOperator trueFunction,
+                            LinkedHashMap<String, InterpolationMethod> methods,
+                            double left, double right,
+                            ParallelEvaluator evaluator) {
 
-        if (trueFunction != null) {
-            XYSeries trueSeries = new XYSeries("f(x)");
-            fillSeries(trueSeries, trueFunction, left, right);
-            collection.addSeries(trueSeries);
-        }
+        Curves curves = Curves.prepare(data, trueFunction, methods, evaluator);
+        XYSeriesCollection collection = curves.emptyCollection();
+        curves.apply(collection, curves.sample(left, right));
 
-        List<String> names = new ArrayList<>(methods.keySet());
-        for (String name : names) {
-            XYSeries series = new XYSeries(name);
-            InterpolationMethod method = methods.get(name);
-            fillSeries(series, x -> method.value(data.xs(), data.ys(), x), left, right);
-            collection.addSeries(series);
-        }
+        JFreeChart chart = createChart(collection, trueFunction != null, methods.size());
+        XYPlot plot = chart.getXYPlot();
+        plot.getDomainAxis().addChangeListener(
+                new Resampler(curves, collection, plot.getDomainAxis(), left, right));
 
-        XYSeries nodeSeries = new XYSeries("Узлы");
-        for (int i = 0; i < data.xs().length; i++) {
-            nodeSeries.add(data.xs()[i], data.ys()[i]);
-        }
-        collection.addSeries(nodeSeries);
+        JFrame frame = new JFrame("Графики интерполяции");
+        frame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        frame.add(new ChartPanel(chart));
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+    }
 
+    /**
+     * График в общем оформлении: f(x) красным, кривые методов пунктиром
+     * разных цветов, узлы — чёрными точками (последняя серия).
+     */
+    static JFreeChart createChart(XYSeriesCollection collection, boolean withTrueFunction, int methodCount) {
         JFreeChart chart = ChartFactory.createXYLineChart(
                 "Интерполяция", "x", "y",
                 collection, PlotOrientation.VERTICAL,
                 true, true, false);
 
-        XYPlot plot = chart.getXYPlot();
         XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer();
 
         int index = 0;
 
-        if (trueFunction != null) {
+        if (withTrueFunction) {
             renderer.setSeriesPaint(index, Color.RED);
             renderer.setSeriesLinesVisible(index, true);
             renderer.setSeriesShapesVisible(index, false);
             index++;
         }
 
-        for (int i = 0; i < names.size(); i++, index++) {
+        for (int i = 0; i < methodCount; i++, index++) {
             renderer.setSeriesPaint(index, COLORS[i % COLORS.length]);
             renderer.setSeriesLinesVisible(index, true);
             renderer.setSeriesShapesVisible(index, false);
@@ -89,24 +114,150 @@ public final class GraphPlotter {
         renderer.setSeriesShape(index, new java.awt.geom.Ellipse2D.Double(-3, -3, 6, 6));
         renderer.setSeriesPaint(index, Color.BLACK);
 
-        plot.setRenderer(renderer);
+        chart.getXYPlot().setRenderer(renderer);
+        return chart;
+    }
 
-        JFrame frame = new JFrame("Графики интерполяции");
-        frame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
-        frame.add(new ChartPanel(chart));
-        frame.pack();
-        frame.setLocationRelativeTo(null);
-        frame.setVisible(true);
+    /**
+     * Серии графика: f(x) (если задана), кривые методов и узлы таблицы.
+     * Кривые выбираются адаптивно (не больше {@link AdaptiveSampler#DEFAULT_BUDGET}
+     * точек на кривую), узлы прореживаются до {@link #NODE_BUDGET}.
+     */
+    public static XYSeriesCollection createDataset(DataSet data,
+                                                  DoubleUnaryOperator trueFunction,
+                                                  LinkedHashMap<String, InterpolationMethod> methods,
+                                                  double left, double right,
+                                                  ParallelEvaluator evaluator) {
+        Curves curves = Curves.prepare(data, trueFunction, methods, evaluator);
+        XYSeriesCollection collection = curves.emptyCollection();
+        curves.apply(collection, curves.sample(left, right));
+        return collection;
+    }
+
+    /**
+     * Подготовленные источники серий. {@link #sample} не трогает Swing и
+     * может выполняться в фоне; {@link #apply} переписывает серии и должен
+     * вызываться из потока событий, если график уже показан.
+     */
+    private record Curves(DataSet data, List<String> names, List<Interpolant> sources, ParallelEvaluator evaluator) {
+
+        static Curves prepare(DataSet data, DoubleUnaryOperator trueFunction,
+                              LinkedHashMap<String, InterpolationMethod> methods, ParallelEvaluator evaluator) {
+            List<String> names = new ArrayList<>();
+            List<Interpolant> sources = new ArrayList<>();
+            if (trueFunction != null) {
+                names.add("f(x)");
+                sources.add(trueFunction::applyAsDouble);
+            }
+            names.addAll(methods.keySet());
+            sources.addAll(evaluator.prepareAll(new ArrayList<>(methods.values()), data));
+            return new Curves(data, names, sources, evaluator);
+        }
+
+        XYSeriesCollection emptyCollection() {
+            XYSeriesCollection collection = new XYSeriesCollection();
+            for (String name : names) {
+                collection.addSeries(new XYSeries(name, false, true));
+            }
+            collection.addSeries(new XYSeries("Узлы", false, true));
+            return collection;
+        }
+
+        /** Точки всех серий на [left, right]; последняя — видимые узлы. */
+        @SuppressWarnings("try")
+        double[][][] sample(double left, double right) {
+            try (Span span = SAMPLE.start()) {
+                List<double[][]> sampled = evaluator.mapAll(sources, data.xs().length,
+                        f -> AdaptiveSampler.sample(f, left, right, AdaptiveSampler.DEFAULT_BUDGET));
+                double[][][] series = sampled.toArray(new double[sampled.size() + 1][][]);
+                series[sampled.size()] = visibleNodes(left, right);
+                return series;
+            }
+        }
+
+        @SuppressWarnings("try")
+        void apply(XYSeriesCollection collection, double[][][] points) {
+            try (Span span = FILL.start()) {
+                for (int s = 0; s < points.length; s++) {
+                    fillSeries(collection.getSeries(s), points[s][0], points[s][1]);
+                }
+            }
+        }
+
+        private double[][] visibleNodes(double left, double right) {
+            double[] xs = data.xs();
+            int from = 0;
+            int to = xs.length;
+            if (data.grid().sorted()) {
+                from = insertionPoint(xs, left);
+                to = Math.max(from, insertionPoint(xs, Math.nextUp(right)));
+            }
+            return Downsampling.lttb(xs, data.ys(), from, to, NODE_BUDGET);
+        }
+
+        private static int insertionPoint(double[] xs, double x) {
+            int i = Arrays.binarySearch(xs, x);
+            return i >= 0 ? i : -i - 1;
+        }
+    }
+
+    /**
+     * Пересчитывает серии под видимый диапазон оси x после масштабирования.
+     * Выборка идёт в фоне; если пользователь успел сменить масштаб ещё раз,
+     * устаревший результат отбрасывается.
+     */
+    private static final class Resampler implements AxisChangeListener {
+
+        private final Curves curves;
+        private final XYSeriesCollection collection;
+        private final ValueAxis axis;
+        private final Range full;
+        private Range sampled;
+        private long generation;
+
+        Resampler(Curves curves, XYSeriesCollection collection, ValueAxis axis, double left, double right) {
+            this.curves = curves;
+            this.collection = collection;
+            this.axis = axis;
+            this.full = new Range(left, right);
+            this.sampled = full;
+        }
+
+        @Override
+        public void axisChanged(AxisChangeEvent event) {
+            Range range = axis.isAutoRange() ? full : axis.getRange();
+            if (range.equals(sampled)) {
+                return;
+            }
+            sampled = range;
+            long ticket = ++generation;
+            new SwingWorker<double[][][], Void>() {
+                @Override
+                protected double[][][] doInBackground() {
+                    return curves.sample(range.getLowerBound(), range.getUpperBound());
+                }
+
+                @Override
+                protected void done() {
+                    if (ticket != generation) {
+                        return;
+                    }
+                    try {
+                        curves.apply(collection, get());
+                    } catch (InterruptedException | ExecutionException ignored) {
+                        // график остаётся с прежней выборкой
+                    }
+                }
+            }.execute();
+        }
     }
 
-    private static void fillSeries(XYSeries series,
-                                   DoubleUnaryOperator function,
-                                   double left, double right) {
-        int points = 400;
-        double step = (right - left) / points;
-        for (int i = 0; i <= points; i++) {
-            double x = left + i * step;
-            series.add(x, function.applyAsDouble(x));
+    private static void fillSeries(XYSeries series, double[] xs, double[] ys) {
+        series.setNotify(false);
+        series.clear();
+        for (int i = 0; i < xs.length; i++) {
+            series.add(xs[i], ys[i], false);
         }
+        series.setNotify(true);
     }
 }
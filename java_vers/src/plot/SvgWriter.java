@@ -0,0 +1,203 @@
+package plot;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYItemRenderer;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.Range;
+import org.jfree.data.xy.XYDataset;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Paint;
+import java.awt.Stroke;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Векторный вывод графика без сторонних SVG-библиотек. Пишет то же, что
+ * рисует {@link GraphPlotter#createChart}: серии, цвета и пунктир берутся
+ * из рендерера, диапазоны — из осей графика. Оформление упрощённое:
+ * рамка, сетка с «круглыми» делениями, подписи и легенда.
+ */
+final class SvgWriter {
+
+    private static final int LEFT = 70;
+    private static final int TOP = 40;
+    private static final int RIGHT = 20;
+    private static final int BOTTOM = 70;
+    private static final int TICKS = 6;
+
+    private SvgWriter() {}
+
+    static void write(JFreeChart chart, int width, int height, Writer out) throws IOException {
+        XYPlot plot = chart.getXYPlot();
+        XYDataset dataset = plot.getDataset();
+        XYItemRenderer renderer = plot.getRenderer();
+        Range xr = plot.getDomainAxis().getRange();
+        Range yr = plot.getRangeAxis().getRange();
+        int plotW = width - LEFT - RIGHT;
+        int plotH = height - TOP - BOTTOM;
+        Frame frame = new Frame(xr, yr, plotW, plotH);
+
+        StringBuilder svg = new StringBuilder(1 << 16);
+        svg.append(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\" "
+                        + "font-family=\"sans-serif\" font-size=\"12\">%n", width, height, width, height));
+        svg.append(String.format(Locale.ROOT, "<rect width=\"%d\" height=\"%d\" fill=\"white\"/>%n", width, height));
+        if (chart.getTitle() != null) {
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"24\" text-anchor=\"middle\" font-size=\"16\">",
+                    width / 2));
+            escape(svg, chart.getTitle().getText());
+            svg.append("</text>\n");
+        }
+
+        svg.append(String.format(Locale.ROOT, "<g transform=\"translate(%d,%d)\">%n", LEFT, TOP));
+        svg.append(String.format(Locale.ROOT,
+                "<rect width=\"%d\" height=\"%d\" fill=\"#f4f4f4\" stroke=\"#888\"/>%n", plotW, plotH));
+        grid(svg, frame, plotW, plotH);
+        svg.append(String.format(Locale.ROOT,
+                "<clipPath id=\"plot\"><rect width=\"%d\" height=\"%d\"/></clipPath>%n<g clip-path=\"url(#plot)\">%n",
+                plotW, plotH));
+        for (int s = 0; s < dataset.getSeriesCount(); s++) {
+            series(svg, dataset, renderer, s, frame);
+        }
+        svg.append("</g>\n</g>\n");
+        legend(svg, dataset, renderer, height - BOTTOM / 2 + 10);
+        svg.append("</svg>\n");
+        out.write(svg.toString());
+    }
+
+    private static void series(StringBuilder svg, XYDataset dataset, XYItemRenderer renderer, int s, Frame frame) {
+        int items = dataset.getItemCount(s);
+        if (items == 0) {
+            return;
+        }
+        String color = color(renderer.getItemPaint(s, 0));
+        if (Boolean.TRUE.equals(lines(renderer, s))) {
+            svg.append("<polyline fill=\"none\" stroke=\"").append(color).append('"');
+            Stroke stroke = renderer.getItemStroke(s, 0);
+            if (stroke instanceof BasicStroke basic) {
+                svg.append(String.format(Locale.ROOT, " stroke-width=\"%.1f\"", basic.getLineWidth()));
+                float[] dash = basic.getDashArray();
+                if (dash != null && dash.length > 1 && dash[1] > 0) {
+                    svg.append(" stroke-dasharray=\"");
+                    for (int i = 0; i < dash.length; i++) {
+                        svg.append(i > 0 ? "," : "").append(dash[i]);
+                    }
+                    svg.append('"');
+                }
+            }
+            svg.append(" points=\"");
+            for (int i = 0; i < items; i++) {
+                double y = dataset.getYValue(s, i);
+                if (Double.isFinite(y)) {
+                    svg.append(String.format(Locale.ROOT, "%.2f,%.2f ",
+                            frame.x(dataset.getXValue(s, i)), frame.y(y)));
+                }
+            }
+            svg.append("\"/>\n");
+        } else {
+            svg.append("<g fill=\"").append(color).append("\">");
+            for (int i = 0; i < items; i++) {
+                double y = dataset.getYValue(s, i);
+                if (Double.isFinite(y)) {
+                    svg.append(String.format(Locale.ROOT, "<circle cx=\"%.2f\" cy=\"%.2f\" r=\"3\"/>",
+                            frame.x(dataset.getXValue(s, i)), frame.y(y)));
+                }
+            }
+            svg.append("</g>\n");
+        }
+    }
+
+    private static Boolean lines(XYItemRenderer renderer, int s) {
+        return renderer instanceof XYLineAndShapeRenderer r
+                ? r.getSeriesLinesVisible(s) : Boolean.TRUE;
+    }
+
+    private static void grid(StringBuilder svg, Frame frame, int plotW, int plotH) {
+        double xStep = niceStep(frame.xr.getLength());
+        for (long k = (long) Math.ceil(frame.xr.getLowerBound() / xStep);
+             k <= (long) Math.floor(frame.xr.getUpperBound() / xStep); k++) {
+            double v = k * xStep;
+            double px = frame.x(v);
+            svg.append(String.format(Locale.ROOT,
+                    "<line x1=\"%.2f\" y1=\"0\" x2=\"%.2f\" y2=\"%d\" stroke=\"#ddd\"/>"
+                            + "<text x=\"%.2f\" y=\"%d\" text-anchor=\"middle\">%s</text>%n",
+                    px, px, plotH, px, plotH + 16, label(v, xStep)));
+        }
+        double yStep = niceStep(frame.yr.getLength());
+        for (long k = (long) Math.ceil(frame.yr.getLowerBound() / yStep);
+             k <= (long) Math.floor(frame.yr.getUpperBound() / yStep); k++) {
+            double v = k * yStep;
+            double py = frame.y(v);
+            svg.append(String.format(Locale.ROOT,
+                    "<line x1=\"0\" y1=\"%.2f\" x2=\"%d\" y2=\"%.2f\" stroke=\"#ddd\"/>"
+                            + "<text x=\"-6\" y=\"%.2f\" text-anchor=\"end\">%s</text>%n",
+                    py, plotW, py, py + 4, label(v, yStep)));
+        }
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" text-anchor=\"middle\">x</text>%n",
+                plotW / 2, plotH + 34));
+        svg.append(String.format(Locale.ROOT, "<text x=\"-50\" y=\"%d\" text-anchor=\"middle\">y</text>%n",
+                plotH / 2));
+    }
+
+    private static void legend(StringBuilder svg, XYDataset dataset, XYItemRenderer renderer, int baseline) {
+        int x = LEFT;
+        for (int s = 0; s < dataset.getSeriesCount(); s++) {
+            String name = String.valueOf(dataset.getSeriesKey(s));
+            svg.append(String.format(Locale.ROOT, "<rect x=\"%d\" y=\"%d\" width=\"14\" height=\"4\" fill=\"%s\"/>",
+                    x, baseline - 6, color(renderer.getItemPaint(s, 0))));
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\">", x + 18, baseline));
+            escape(svg, name);
+            svg.append("</text>\n");
+            x += 30 + 7 * name.length();
+        }
+    }
+
+    /** Шаг сетки вида 1, 2 или 5 × 10^k, дающий около {@link #TICKS} делений. */
+    private static double niceStep(double span) {
+        if (!(span > 0) || !Double.isFinite(span)) {
+            return 1;
+        }
+        double raw = span / TICKS;
+        double magnitude = Math.pow(10, Math.floor(Math.log10(raw)));
+        double unit = raw / magnitude;
+        return magnitude * (unit < 1.5 ? 1 : unit < 3.5 ? 2 : unit < 7.5 ? 5 : 10);
+    }
+
+    private static String label(double value, double step) {
+        int digits = Math.max(0, (int) -Math.floor(Math.log10(step)));
+        return String.format(Locale.ROOT, "%." + digits + "f", value);
+    }
+
+    private static String color(Paint paint) {
+        Color c = paint instanceof Color color ? color : Color.BLACK;
+        return String.format("#%02x%02x%02x", c.getRed(), c.getGreen(), c.getBlue());
+    }
+
+    private static void escape(StringBuilder svg, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> svg.append("&lt;");
+                case '>' -> svg.append("&gt;");
+                case '&' -> svg.append("&amp;");
+                case '"' -> svg.append("&quot;");
+                default -> svg.append(c);
+            }
+        }
+    }
+
+    /** Перевод из координат данных в координаты области графика. */
+    private record Frame(Range xr, Range yr, int width, int height) {
+        double x(double value) {
+            return (value - xr.getLowerBound()) / xr.getLength() * width;
+        }
+
+        double y(double value) {
+            return height - (value - yr.getLowerBound()) / yr.getLength() * height;
+        }
+    }
+}
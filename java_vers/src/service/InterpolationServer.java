@@ -0,0 +1,237 @@
+package service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.DataSet;
+import io.DataSets;
+import io.NumberTokenizer;
+import methods.Interpolant;
+import methods.InterpolantCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Локальный HTTP-сервис интерполяции (только JDK, {@code com.sun.net.httpserver}).
+ * <pre>
+ *   POST   /tables                      тело: строка x, строка y  → id таблицы
+ *   GET    /tables/{id}                 описание сетки
+ *   POST   /tables/{id}?method=stirling тело: точки x            → значения, по одному в строке
+ *   DELETE /tables/{id}
+ *   GET    /stats                       счётчики кэша интерполянтов
+ * </pre>
+ * Метод по умолчанию — {@code lagrange}. Каждый запрос обрабатывается
+ * на отдельном виртуальном потоке, если JVM их поддерживает (JDK 21+),
+ * иначе — на кэширующем пуле обычных потоков.
+ * <p>
+ * Ошибки запроса — 400/404/413, любая другая — 500 с текстом исключения.
+ * TCP_NODELAY ({@code -Dsun.net.httpserver.nodelay=true}) включает только
+ * {@link #main}: библиотечный {@link #start} глобальных свойств JVM не меняет.
+ */
+public final class InterpolationServer implements AutoCloseable {
+
+    private static final String DEFAULT_METHOD = "lagrange";
+    private static final String NODELAY = "sun.net.httpserver.nodelay";
+    private static final int CACHE_ENTRIES = 1024;
+    private static final long CACHE_BYTES = 256L << 20;
+    /** Наибольшее тело запроса по умолчанию: таблица или пакет точек в несколько миллионов чисел. */
+    public static final int MAX_BODY_BYTES = 64 << 20;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final TableRegistry tables;
+    private final int maxBodyBytes;
+
+    private InterpolationServer(HttpServer server, ExecutorService executor, TableRegistry tables, int maxBodyBytes) {
+        this.server = server;
+        this.executor = executor;
+        this.tables = tables;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /** Запускает сервер на loopback-интерфейсе; порт 0 — любой свободный. */
+    public static InterpolationServer start(int port) throws IOException {
+        return start(port, MAX_BODY_BYTES);
+    }
+
+    /** То же с другим пределом тела запроса; больше — ответ 413. */
+    public static InterpolationServer start(int port, int maxBodyBytes) throws IOException {
+        if (maxBodyBytes < 1 || maxBodyBytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("maxBodyBytes must be positive: " + maxBodyBytes);
+        }
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = requestExecutor();
+        InterpolationServer service = new InterpolationServer(server, executor,
+                new TableRegistry(new InterpolantCache(CACHE_ENTRIES, CACHE_BYTES)), maxBodyBytes);
+        server.createContext("/tables", service::handle);
+        server.createContext("/stats", service::stats);
+        server.setExecutor(executor);
+        server.start();
+        return service;
+    }
+
+    /** {@code Main --serve [порт]}: работает до остановки процесса. */
+    public static void main(String[] args) throws IOException {
+        // Заголовки и тело ответа уходят отдельными сегментами; без TCP_NODELAY
+        // алгоритм Нейгла вместе с отложенным ACK добавляет ~40 мс к каждому ответу.
+        // Свойство читается при первом создании HttpServer, поэтому ставится до start.
+        if (System.getProperty(NODELAY) == null) {
+            System.setProperty(NODELAY, "true");
+        }
+        int port = 8080;
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                port = Integer.parseInt(arg);
+            }
+        }
+        InterpolationServer service = start(port);
+        System.out.printf("Сервис интерполяции слушает http://localhost:%d/tables%n", service.port());
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public TableRegistry tables() {
+        return tables;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String id = path.length() > "/tables/".length() ? path.substring("/tables/".length()) : null;
+            String verb = exchange.getRequestMethod();
+            try {
+                if (id == null && verb.equals("POST")) {
+                    send(exchange, 201, upload(read(exchange)));
+                } else if (id != null && verb.equals("POST")) {
+                    send(exchange, 200, evaluate(id, method(exchange), read(exchange)));
+                } else if (id != null && verb.equals("GET")) {
+                    send(exchange, 200, describe(tables.data(id)));
+                } else if (id != null && verb.equals("DELETE")) {
+                    send(exchange, tables.remove(id) ? 204 : 404, "");
+                } else {
+                    send(exchange, 405, "Метод " + verb + " не поддерживается для " + path);
+                }
+            } catch (BodyTooLarge e) {
+                send(exchange, 413, e.getMessage());
+            } catch (NoSuchElementException e) {
+                send(exchange, 404, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, e.getMessage());
+            } catch (RuntimeException e) {
+                send(exchange, 500, "Внутренняя ошибка: " + e);
+            }
+        }
+    }
+
+    private void stats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            InterpolantCache.Stats stats = tables.cache().stats();
+            send(exchange, 200, String.format("tables=%d%nhits=%d%nmisses=%d%nevictions=%d%nentries=%d%nbytes=%d%n",
+                    tables.size(), stats.hits(), stats.misses(), stats.evictions(), stats.entries(), stats.bytes()));
+        }
+    }
+
+    private String upload(String body) {
+        String[] lines = body.strip().split("\\R+");
+        if (lines.length != 2) {
+            throw new IllegalArgumentException("Ожидаются две строки: x и y.");
+        }
+        DataSet data = DataSets.validated(NumberTokenizer.parseLine(lines[0]), NumberTokenizer.parseLine(lines[1]));
+        return tables.add(data);
+    }
+
+    private String evaluate(String id, String methodId, String body) {
+        Interpolant interpolant = tables.prepared(id, methodId);
+        double[] queries = NumberTokenizer.parseLine(body);
+        double[] values = new double[queries.length];
+        interpolant.valuesAt(queries, values);
+
+        StringBuilder out = new StringBuilder(values.length * 20);
+        for (double value : values) {
+            out.append(value).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String describe(DataSet data) {
+        return String.format("n=%d%nsorted=%b%nuniform=%b%nstep=%s%nmin=%s%nmax=%s%n",
+                data.xs().length, data.grid().sorted(), data.grid().uniform(),
+                data.grid().step(), data.grid().min(), data.grid().max());
+    }
+
+    private static String method(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.startsWith("method=")) {
+                    return URLDecoder.decode(pair.substring("method=".length()), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return DEFAULT_METHOD;
+    }
+
+    /** Тело запроса не длиннее {@link #maxBodyBytes}; заявленная длина проверяется до чтения. */
+    private String read(HttpExchange exchange) throws IOException {
+        String declared = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (declared != null && Long.parseLong(declared.trim()) > maxBodyBytes) {
+            throw new BodyTooLarge(maxBodyBytes);
+        }
+        byte[] body = exchange.getRequestBody().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            throw new BodyTooLarge(maxBodyBytes);
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static final class BodyTooLarge extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        BodyTooLarge(int limit) {
+            super("Тело запроса больше " + limit + " байт.");
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Поток на запрос: виртуальный, если есть {@code Executors.newVirtualThreadPerTaskExecutor}
+     * (JDK 21+). Исходники собираются под JDK 17, поэтому метод ищется рефлексией.
+     */
+    private static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "interpolation-request");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package service;
+
+import io.DataSet;
+import methods.Interpolant;
+import methods.InterpolantCache;
+import methods.MethodRegistry;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Загруженные таблицы сервиса. Таблица загружается один раз; подготовленные
+ * интерполянты берутся из общего {@link InterpolantCache}, поэтому одинаковые
+ * таблицы, загруженные под разными id, готовятся один раз, а редко
+ * используемые вытесняются.
+ */
+public final class TableRegistry {
+
+    private final ConcurrentHashMap<String, DataSet> tables = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final InterpolantCache cache;
+
+    public TableRegistry(InterpolantCache cache) {
+        this.cache = cache;
+    }
+
+    /** Регистрирует таблицу и возвращает её идентификатор. */
+    public String add(DataSet data) {
+        String id = "t" + ids.incrementAndGet();
+        tables.put(id, data);
+        return id;
+    }
+
+    public DataSet data(String id) {
+        DataSet data = tables.get(id);
+        if (data == null) {
+            throw new NoSuchElementException("Нет таблицы " + id);
+        }
+        return data;
+    }
+
+    /**
+     * Подготовленный интерполянт метода {@code methodId} для таблицы {@code id}.
+     *
+     * @throws NoSuchElementException   если таблицы нет
+     * @throws IllegalArgumentException если метод неизвестен или не применим к сетке
+     */
+    public Interpolant prepared(String id, String methodId) {
+        DataSet data = data(id);
+        if (!MethodRegistry.byId(methodId).supports(data)) {
+            throw new IllegalArgumentException("Метод " + methodId + " не применим к этой сетке");
+        }
+        return cache.get(methodId, data);
+    }
+
+    public boolean remove(String id) {
+        return tables.remove(id) != null;
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    public InterpolantCache cache() {
+        return cache;
+    }
+}
@@ -1,7 +1,60 @@
+import batch.BatchRunner;
+import io.BinaryTable;
+import io.ChebyshevNodes;
 import io.DataSet;
+import io.DataSets;
+import io.FileDataProvider;
+import io.FloatDataSet;
+import io.GridDataSet;
+import io.NumberTokenizer;
+import io.OffHeapTable;
 import methods.*;
+import metrics.Metrics;
+import metrics.Span;
+import metrics.Timer;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import plot.ChartRenderer;
+import plot.GraphPlotter;
+import service.InterpolationServer;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.DoubleUnaryOperator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,25 +87,25 @@ class InterpolationTest {
 
         assertAll(
                 () -> assertEquals(expected, new LagrangeMethod()
-                        .value(data.xs(), data.ys(), x), EPS),
+                        .prepare(data).value(x), EPS),
 
                 () -> assertEquals(expected, new NewtonForwardMethod()
-                        .value(data.xs(), data.ys(), x), EPS),
+                        .prepare(data).value(x), EPS),
 
                 () -> assertEquals(expected, new NewtonBackwardMethod()
-                        .value(data.xs(), data.ys(), x), EPS),
+                        .prepare(data).value(x), EPS),
 
                 () -> assertEquals(expected, new GaussForwardMethod()
-                        .value(data.xs(), data.ys(), x), EPS),
+                        .prepare(data).value(x), EPS),
 
                 () -> assertEquals(expected, new GaussBackwardMethod()
-                        .value(data.xs(), data.ys(), x), EPS),
+                        .prepare(data).value(x), EPS),
 
                 () -> assertEquals(expected, new StirlingMethod()
-                        .value(data.xs(), data.ys(), x), EPS),
+                        .prepare(data).value(x), EPS),
 
                 () -> assertEquals(expected, new BesselMethod()
-                        .value(data.xs(), data.ys(), x), EPS)
+                        .prepare(data).value(x), EPS)
         );
     }
 
@@ -66,14 +119,986 @@ class InterpolationTest {
         double expected = Math.sin(x);          // ~0.7071
 
         double lagrange = new LagrangeMethod()
-                .value(data.xs(), data.ys(), x);
+                .prepare(data).value(x);
 
         double newton = new NewtonForwardMethod()
-                .value(data.xs(), data.ys(), x);
+                .prepare(data).value(x);
 
         assertAll(
                 () -> assertEquals(expected, lagrange, 1e-3), // sin интерполируем 4-мя точками
                 () -> assertEquals(lagrange, newton, 1e-6)
         );
     }
+
+    /* ---------- barycentric Lagrange ---------- */
+
+    @Test
+    @DisplayName("Барицентрический Лагранж — узлы, добавление и удаление узла")
+    void barycentricNodeUpdates() {
+        DataSet data = sineData();
+        BarycentricInterpolant base = new BarycentricLagrangeMethod().prepare(data);
+        double x = Math.PI / 4;
+
+        double extraX = Math.PI / 3;
+        double extraY = Math.sin(extraX);
+        double[] xs = {0, Math.PI / 2, Math.PI, 3 * Math.PI / 2, extraX};
+        double[] ys = {0, 1, 0, -1, extraY};
+
+        assertAll(
+                () -> assertEquals(-1.0, base.value(3 * Math.PI / 2), 0.0),
+                () -> assertEquals(new LagrangeMethod().prepare(data).value(x),
+                        base.value(x), EPS),
+                () -> assertEquals(new LagrangeMethod().value(xs, ys, x),
+                        base.withNode(extraX, extraY).value(x), EPS),
+                () -> assertEquals(base.value(x),
+                        base.withNode(extraX, extraY).withoutNode(4).value(x), EPS)
+        );
+
+        // прежний вызов сортирует узлы: убывающая равномерная таблица принимается методами на разностях
+        double[] descendingXs = {4, 3, 2, 1, 0};
+        double[] descendingYs = {16, 9, 4, 1, 0};
+        assertEquals(6.25, new NewtonForwardMethod().value(descendingXs, descendingYs, 2.5), EPS);
+        assertEquals(6.25, new StirlingMethod().value(descendingXs, descendingYs, 2.5), EPS);
+        assertArrayEquals(new double[]{4, 3, 2, 1, 0}, descendingXs, 0.0);
+    }
+
+    /* ---------- batch evaluation ---------- */
+
+    @Test
+    @DisplayName("valuesAt совпадает с value для всех методов")
+    void batchMatchesPointwise() {
+        double[] xs = new double[9];
+        double[] ys = new double[9];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = 0.5 * i;
+            ys[i] = Math.exp(xs[i]);
+        }
+        DataSet data = new DataSet(xs, ys);
+
+        double[] queries = new double[600];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = -0.3 + 4.6 * i / (queries.length - 1);
+        }
+        queries[100] = xs[3];
+
+        InterpolationMethod[] methods = {
+                new LagrangeMethod(), new BarycentricLagrangeMethod(), new NewtonDividedMethod(),
+                new NewtonForwardMethod(), new NewtonBackwardMethod(),
+                new GaussForwardMethod(), new GaussBackwardMethod(),
+                new StirlingMethod(), new BesselMethod()
+        };
+        for (InterpolationMethod method : methods) {
+            Interpolant interpolant = method.prepare(data);
+            double[] out = new double[queries.length];
+            interpolant.valuesAt(queries, 1, queries.length - 1, out);
+            for (int i = 1; i < queries.length; i++) {
+                assertEquals(interpolant.value(queries[i]), out[i], 1e-12,
+                        method.getClass().getSimpleName() + " at x = " + queries[i]);
+            }
+        }
+    }
+
+    /* ---------- streaming Newton ---------- */
+
+    @Test
+    @DisplayName("Потоковый Ньютон — окно совпадает с интерполяцией по последним узлам")
+    void streamingNewtonWindow() {
+        StreamingNewton stream = new StreamingNewton(4);
+        double[] xs = {0.0, 0.4, 1.1, 1.5, 2.3, 3.0, 3.2};
+        for (double x : xs) {
+            stream.append(x, Math.cos(x));
+        }
+
+        double[] lastXs = {1.5, 2.3, 3.0, 3.2};
+        double[] lastYs = new double[lastXs.length];
+        for (int i = 0; i < lastXs.length; i++) {
+            lastYs[i] = Math.cos(lastXs[i]);
+        }
+        DataSet last = new DataSet(lastXs, lastYs);
+        double x = 2.7;
+
+        assertAll(
+                () -> assertEquals(4, stream.size()),
+                () -> assertEquals(new LagrangeMethod().prepare(last).value(x), stream.value(x), EPS),
+                () -> assertEquals(new NewtonDividedMethod().prepare(last).value(x),
+                        stream.snapshot().value(x), EPS)
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> stream.append(3.0, 0.0));
+        stream.append(1.5, Math.cos(1.5));                   // 1.5 вытесняется этим же вызовом
+        DataSet rotated = new DataSet(new double[]{1.5, 2.3, 3.0, 3.2},
+                new double[]{Math.cos(1.5), Math.cos(2.3), Math.cos(3.0), Math.cos(3.2)});
+        assertEquals(new LagrangeMethod().prepare(rotated).value(x), stream.value(x), EPS);
+    }
+
+    /* ---------- piecewise ---------- */
+
+    @Test
+    @DisplayName("Кусочная интерполяция на большой таблице")
+    void piecewiseLargeTable() {
+        int n = 100_000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = 1e-3 * i;
+            ys[i] = Math.sin(xs[i]);
+        }
+        DataSet data = new DataSet(xs, ys);
+
+        Interpolant newton = new PiecewiseMethod(new NewtonForwardMethod(), 6).prepare(data);
+        Interpolant stirling = new PiecewiseMethod(new StirlingMethod(), 5).prepare(data);
+
+        double[] queries = {0.0004, 12.3456, 57.00049, 99.9985};
+        for (double x : queries) {
+            assertEquals(Math.sin(x), newton.value(x), 1e-12);
+            assertEquals(Math.sin(x), stirling.value(x), 1e-12);
+        }
+
+        // неравномерная таблица: Стирлинг отвергается при подготовке, а не на каждом запросе
+        double[] uneven = xs.clone();
+        uneven[n / 2] += 2e-4;
+        DataSet nonUniform = new DataSet(uneven, ys);
+        PiecewiseMethod piecewiseStirling = new PiecewiseMethod(new StirlingMethod(), 5);
+        assertTrue(piecewiseStirling.supports(data));
+        assertFalse(piecewiseStirling.supports(nonUniform));
+        assertThrows(IllegalArgumentException.class, () -> piecewiseStirling.prepare(nonUniform));
+        assertTrue(new PiecewiseMethod(new NewtonDividedMethod(), 5).supports(nonUniform));
+    }
+
+    /* ---------- parallel evaluation ---------- */
+
+    @Test
+    @DisplayName("Параллельное вычисление совпадает с последовательным")
+    void parallelMatchesSequential() {
+        int n = 200;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = 0.01 * i;
+            ys[i] = Math.cos(xs[i]);
+        }
+        DataSet data = new DataSet(xs, ys);
+        double[] queries = new double[5_000];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = 1.99 * i / (queries.length - 1);
+        }
+
+        List<InterpolationMethod> methods = List.of(
+                new BarycentricLagrangeMethod(), new NewtonDividedMethod(),
+                new StirlingMethod(), new BesselMethod());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        double[][] parallel;
+        try {
+            parallel = new ParallelEvaluator(pool).evaluate(methods, data, queries);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int m = 0; m < methods.size(); m++) {
+            double[] sequential = new double[queries.length];
+            methods.get(m).prepare(data).valuesAt(queries, sequential);
+            assertArrayEquals(sequential, parallel[m]);
+        }
+    }
+
+    /* ---------- input parsing ---------- */
+
+    @Test
+    @DisplayName("NumberTokenizer разбирает так же, как Double.parseDouble")
+    void tokenizerMatchesParseDouble() {
+        String[] tokens = {"0", "-0", "1.5", "-2.25e-3", "3E10", ".5", "7.",
+                "0.1000000000000000055511151231257827", "1e-320", "NaN", "Infinity", "4d"};
+        double[] parsed = NumberTokenizer.parseLine("  " + String.join(" \t", tokens) + "\r");
+
+        assertEquals(tokens.length, parsed.length);
+        for (int i = 0; i < tokens.length; i++) {
+            assertEquals(Double.parseDouble(tokens[i]), parsed[i], 0.0, tokens[i]);
+        }
+        assertThrows(NumberFormatException.class, () -> NumberTokenizer.parseLine("1 2 x"));
+        assertThrows(NumberFormatException.class, () -> NumberTokenizer.parseLine("   "));
+    }
+
+    @Test
+    @DisplayName("Приём таблицы: сортировка, повторы и метаданные сетки")
+    void ingestionSortsAndDescribesGrid() {
+        DataSet data = DataSets.validated(new double[]{3, 1, 2, 0}, new double[]{9, 1, 4, 0});
+
+        assertAll(
+                () -> assertArrayEquals(new double[]{0, 1, 2, 3}, data.xs()),
+                () -> assertArrayEquals(new double[]{0, 1, 4, 9}, data.ys()),
+                () -> assertTrue(data.grid().sorted()),
+                () -> assertTrue(data.grid().uniform()),
+                () -> assertEquals(1.0, data.grid().step(), 0.0),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> DataSets.validated(new double[]{1, 2, 2, 4, 5}, new double[]{1, 4, 4, 16, 25})),
+                () -> assertFalse(DataSets.validated(new double[]{0, 1, 3}, new double[]{0, 1, 9}).grid().uniform()),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> new NewtonForwardMethod().prepare(new DataSet(new double[]{0, 1, 3}, new double[]{0, 1, 9})))
+        );
+    }
+
+    @Test
+    @DisplayName("Пакетный режим: порядок заданий и записи об ошибках")
+    void batchJobsKeepOrder() throws IOException {
+        StringBuilder jobs = new StringBuilder("# квадраты\n");
+        for (int i = 0; i < 20; i++) {
+            jobs.append("id=j").append(i).append("; xs=0 1 2 3; ys=0 1 4 9; x=").append(i % 3 + 0.5)
+                    .append("; methods=lagrange,newton-forward\n");
+        }
+        jobs.append("id=bad; xs=0 1 3; ys=0 1 9; x=2; methods=stirling,lagrange\n");
+        jobs.append("xs=0 1; x=1\n");
+
+        StringWriter out = new StringWriter();
+        new BatchRunner(3).run(new BufferedReader(new StringReader(jobs.toString())), "t", Path.of(""), out);
+        String[] lines = out.toString().split("\n");
+
+        assertEquals(43, lines.length);
+        for (int i = 0; i < 20; i++) {
+            double x = i % 3 + 0.5;
+            String[] lagrange = lines[2 * i].split(",");
+            String[] newton = lines[2 * i + 1].split(",");
+            assertEquals(List.of("j" + i, "lagrange", Double.toString(x)), List.of(lagrange).subList(0, 3));
+            assertEquals(List.of("j" + i, "newton-forward", Double.toString(x)), List.of(newton).subList(0, 3));
+            assertEquals(x * x, Double.parseDouble(lagrange[3]), 1e-12);
+            assertEquals(x * x, Double.parseDouble(newton[3]), 1e-12);
+        }
+        assertTrue(lines[40].startsWith("bad,stirling,,,"));
+        assertTrue(lines[41].startsWith("bad,lagrange,2.0,"));
+        assertTrue(lines[42].startsWith("t:23,,,,"));
+    }
+
+    @Test
+    @DisplayName("Пакетный режим без --out пишет в stdout и не закрывает его")
+    void batchMainKeepsStdoutOpen(@TempDir Path dir) throws IOException {
+        Path jobs = dir.resolve("jobs.txt");
+        Files.writeString(jobs, "id=s; xs=0 1 2 3; ys=0 1 4 9; x=1.5; methods=lagrange\n");
+        boolean[] closed = {false};
+        ByteArrayOutputStream captured = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            BatchRunner.main(new String[]{"--batch", "--threads", "1", jobs.toString()});
+            System.out.print("after");
+        } finally {
+            System.out.flush();
+            System.setOut(stdout);
+        }
+        assertFalse(closed[0]);
+        String text = captured.toString(StandardCharsets.UTF_8);
+        assertTrue(text.startsWith("s,lagrange,1.5,2.25"), text);
+        assertTrue(text.endsWith("after"), text);
+
+        for (String option : List.of("--out", "--threads")) {
+            IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                    () -> BatchRunner.main(new String[]{"--batch", option}));
+            assertTrue(missing.getMessage().contains(option), missing.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Сервис: загрузка таблицы, запросы по id и нагрузка по loopback")
+    void serviceLoopbackLoad() throws Exception {
+        System.setProperty("sun.net.httpserver.nodelay", "true");      // как в InterpolationServer.main
+        try (InterpolationServer server = InterpolationServer.start(0)) {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            URI base = URI.create("http://localhost:" + server.port() + "/tables");
+
+            StringBuilder table = new StringBuilder();
+            StringBuilder ys = new StringBuilder();
+            for (int i = 0; i <= 20; i++) {
+                table.append(0.1 * i).append(' ');
+                ys.append(Math.sin(0.1 * i)).append(' ');
+            }
+            table.append('\n').append(ys);
+            HttpResponse<String> created = client.send(
+                    HttpRequest.newBuilder(base).POST(HttpRequest.BodyPublishers.ofString(table.toString())).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, created.statusCode());
+            URI stirling = URI.create(base + "/" + created.body() + "?method=stirling");
+            HttpRequest query = HttpRequest.newBuilder(stirling)
+                    .POST(HttpRequest.BodyPublishers.ofString("0.55 1.05 1.45")).build();
+
+            String[] values = client.send(query, HttpResponse.BodyHandlers.ofString()).body().split("\n");
+            assertEquals(Math.sin(1.05), Double.parseDouble(values[1]), 1e-6);
+            assertEquals(404, client.send(HttpRequest.newBuilder(URI.create(base + "/t999")).GET().build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode());
+            assertEquals(400, client.send(HttpRequest.newBuilder(URI.create(base + "/" + created.body() + "?method=nope"))
+                    .POST(HttpRequest.BodyPublishers.ofString("1")).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode());
+
+            try (InterpolationServer small = InterpolationServer.start(0, 64)) {
+                URI smallBase = URI.create("http://localhost:" + small.port() + "/tables");
+                assertEquals(413, client.send(HttpRequest.newBuilder(smallBase)
+                        .POST(HttpRequest.BodyPublishers.ofString(table.toString())).build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode());
+                assertEquals(201, client.send(HttpRequest.newBuilder(smallBase)
+                        .POST(HttpRequest.BodyPublishers.ofString("0 1 2\n0 1 4")).build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode());
+            }
+
+            int clients = 8;
+            int perClient = 100;
+            ExecutorService load = Executors.newFixedThreadPool(clients);
+            try {
+                List<Future<long[]>> runs = new ArrayList<>();
+                long start = System.nanoTime();
+                for (int c = 0; c < clients; c++) {
+                    runs.add(load.submit(() -> {
+                        long[] latencies = new long[perClient];
+                        for (int i = 0; i < perClient; i++) {
+                            long t0 = System.nanoTime();
+                            HttpResponse<String> response = client.send(query, HttpResponse.BodyHandlers.ofString());
+                            latencies[i] = System.nanoTime() - t0;
+                            assertEquals(200, response.statusCode());
+                        }
+                        return latencies;
+                    }));
+                }
+                long[] all = new long[clients * perClient];
+                for (int c = 0; c < clients; c++) {
+                    System.arraycopy(runs.get(c).get(), 0, all, c * perClient, perClient);
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                Arrays.sort(all);
+                System.out.printf("loopback: %d запросов, p50 = %.3f мс, p99 = %.3f мс, %.0f запросов/с%n",
+                        all.length, all[all.length / 2] / 1e6, all[all.length * 99 / 100] / 1e6,
+                        all.length / seconds);
+            } finally {
+                load.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Кэш интерполянтов: ключ по содержимому, счётчики и вытеснение")
+    void interpolantCacheByContent() {
+        InterpolantCache cache = new InterpolantCache(10, 1L << 20);
+        DataSet a = new DataSet(new double[]{0, 1, 2, 3}, new double[]{0, 1, 4, 9});
+        DataSet same = new DataSet(a.xs().clone(), a.ys().clone());
+        DataSet other = new DataSet(a.xs().clone(), new double[]{0, 1, 8, 27});
+
+        Interpolant first = cache.get("stirling", a);
+        assertSame(first, cache.get("stirling", same));
+        assertNotSame(first, cache.get("bessel", a));
+        assertEquals(8.0, cache.get("newton-forward", other).value(2), 1e-12);
+        assertEquals(new InterpolantCache.Stats(1, 3, 0, 3, cache.stats().bytes()), cache.stats());
+
+        for (int i = 0; i < 20; i++) {
+            cache.get("lagrange", new DataSet(new double[]{0, 1}, new double[]{i, i + 1}));
+        }
+        InterpolantCache.Stats stats = cache.stats();
+        assertTrue(stats.entries() <= 10);
+        assertEquals(23 - stats.entries(), stats.evictions());
+        assertEquals(1.5, cache.get("lagrange", new DataSet(new double[]{0, 1}, new double[]{19, 20})).value(-17.5), 1e-12);
+        assertEquals(stats.hits() + 1, cache.stats().hits());
+
+        // объём — по тому, что держит интерполянт: у auto таблица n · 17 разностей, у Стирлинга пять коэффициентов
+        double[] xs = new double[1000];
+        double[] ys = new double[1000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = 0.01 * i;
+            ys[i] = Math.sin(xs[i]);
+        }
+        DataSet large = new DataSet(xs, ys);
+        InterpolantCache sized = new InterpolantCache(10, 1L << 30);
+        sized.get("stirling", large);
+        long stirling = sized.stats().bytes();
+        sized.get("auto", large);
+        long auto = sized.stats().bytes() - stirling;
+        assertTrue(stirling < 20 * xs.length, "stirling: " + stirling);
+        assertTrue(auto > 8L * 17 * xs.length, "auto: " + auto);
+    }
+
+    @Test
+    @DisplayName("График: адаптивная выборка кривых и прореживание узлов")
+    void plotSamplingWithinBudget() {
+        int n = 100_001;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = i * 1e-4;
+            ys[i] = Math.sin(xs[i]) + (i == 54_321 ? 5 : 0);
+        }
+        LinkedHashMap<String, InterpolationMethod> methods = new LinkedHashMap<>();
+        methods.put("кусочный", new PiecewiseMethod(new NewtonForwardMethod(), 4));
+        XYSeriesCollection collection = GraphPlotter.createDataset(
+                DataSets.validated(xs, ys), Math::sin, methods, 0, 10, new ParallelEvaluator());
+
+        XYSeries truth = collection.getSeries(0);
+        XYSeries nodes = collection.getSeries(2);
+        assertTrue(truth.getItemCount() < 1200);
+        assertEquals(10.0, truth.getMaxX(), 0.0);
+        assertTrue(nodes.getItemCount() <= 2000);
+        assertEquals(5 + Math.sin(5.4321), nodes.getMaxY(), 1e-12);
+
+        double[] runge = new double[21];
+        double[] rungeY = new double[21];
+        for (int i = 0; i <= 20; i++) {
+            runge[i] = -1 + 0.1 * i;
+            rungeY[i] = 1 / (1 + 25 * runge[i] * runge[i]);
+        }
+        LinkedHashMap<String, InterpolationMethod> lagrange = new LinkedHashMap<>();
+        lagrange.put("Лагранж", new BarycentricLagrangeMethod());
+        XYSeries curve = GraphPlotter.createDataset(DataSets.validated(runge, rungeY), null, lagrange,
+                -1, 1, new ParallelEvaluator()).getSeries(0);
+        double middleGap = Double.POSITIVE_INFINITY;
+        double edgeGap = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < curve.getItemCount(); i++) {
+            double gap = curve.getX(i).doubleValue() - curve.getX(i - 1).doubleValue();
+            double at = curve.getX(i).doubleValue();
+            if (Math.abs(at) < 0.3) middleGap = Math.min(middleGap, gap);
+            if (Math.abs(at) > 0.9) edgeGap = Math.min(edgeGap, gap);
+        }
+        assertTrue(edgeGap < middleGap, "у краёв выборка должна быть гуще");
+    }
+
+    @Test
+    @DisplayName("Отрисовка в файлы: PNG и SVG нескольких размеров параллельно")
+    void headlessRendering(@TempDir Path dir) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        DataSet data = DataSets.validated(new double[]{0, 1, 2, 3, 4}, new double[]{1, 2, 0, 2, 1});
+        LinkedHashMap<String, InterpolationMethod> methods = new LinkedHashMap<>();
+        methods.put("stirling", new StirlingMethod());
+        methods.put("lagrange", new BarycentricLagrangeMethod());
+        List<ChartRenderer.Size> sizes = List.of(ChartRenderer.Size.parse("640x480"), new ChartRenderer.Size(200, 150));
+
+        List<Path> files = new ArrayList<>();
+        try (ChartRenderer renderer = new ChartRenderer(2)) {
+            List<CompletableFuture<List<Path>>> jobs = new ArrayList<>();
+            for (String name : List.of("a", "b", "c")) {
+                jobs.add(renderer.submit(data, x -> Math.cos(x), methods, -0.1, 4.1, dir, name, sizes,
+                        EnumSet.allOf(ChartRenderer.Format.class)));
+            }
+            jobs.forEach(job -> files.addAll(job.join()));
+        }
+
+        assertEquals(12, files.size());
+        for (Path file : files) {
+            byte[] bytes = Files.readAllBytes(file);
+            if (file.toString().endsWith(".png")) {
+                assertArrayEquals(new byte[]{(byte) 0x89, 'P', 'N', 'G'}, Arrays.copyOf(bytes, 4));
+            } else {
+                String svg = new String(bytes, StandardCharsets.UTF_8);
+                assertTrue(svg.startsWith("<svg") && svg.contains("stirling") && svg.trim().endsWith("</svg>"));
+            }
+        }
+        assertTrue(Files.exists(dir.resolve("b-200x150.svg")));
+    }
+
+    @Test
+    @DisplayName("Отрисовка из командной строки: ошибка одной таблицы не прячет остальные")
+    void renderReportsFailuresPerTable(@TempDir Path dir) throws IOException {
+        Path first = Files.writeString(dir.resolve("a.txt"), "0 1 2 3 4\n1 2 0 2 1\n");
+        Path second = Files.writeString(dir.resolve("b.txt"), "0 1 2 3 4\n0 1 4 9 16\n");
+        Path out = Files.createDirectories(dir.resolve("out"));
+        Files.createDirectories(out.resolve("a-200x150.png"));      // файл графика a не запишется
+
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        PrintStream savedOut = System.out;
+        PrintStream savedErr = System.err;
+        System.setOut(new PrintStream(stdout, true, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(stderr, true, StandardCharsets.UTF_8));
+        try {
+            ChartRenderer.main(new String[]{"--render", out.toString(), "--size", "200x150", "--threads", "1",
+                    first.toString(), second.toString()});
+        } finally {
+            System.setOut(savedOut);
+            System.setErr(savedErr);
+        }
+        assertTrue(stdout.toString(StandardCharsets.UTF_8).contains("b-200x150.png"));
+        assertTrue(stderr.toString(StandardCharsets.UTF_8).startsWith(first + ": "));
+        assertTrue(Files.size(out.resolve("b-200x150.png")) > 0);
+    }
+
+    @Test
+    @DisplayName("Метрики: без -Dinterp.metrics ничего не оборачивается и не считается")
+    @SuppressWarnings("try")
+    void metricsDisabledByDefault() {
+        assertFalse(Metrics.ENABLED);
+        assertInstanceOf(StirlingMethod.class, MethodRegistry.byId("stirling"));
+
+        Timer timer = Metrics.timer("test.disabled");
+        assertSame(timer, Metrics.timer("test.disabled"));
+        try (Span span = timer.start()) {
+            GaussUtils.forwardDiagonal(new double[]{1, 2, 4, 8});
+        }
+        assertEquals(0, timer.count());
+        assertEquals("{\"timers\":[]}", Metrics.toJson());
+    }
+
+    @Test
+    @DisplayName("Метрики: с -Dinterp.metrics обёрнутые методы сохраняют возможности")
+    void metricsEnabledKeepsCapabilities() throws Exception {
+        // ENABLED — static final и читается при загрузке класса, поэтому нужна отдельная JVM
+        String classPath = Stream.of(MetricsProbe.class, Metrics.class, Assertions.class)
+                .map(type -> {
+                    try {
+                        return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+                    } catch (URISyntaxException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .distinct()
+                .collect(Collectors.joining(File.pathSeparator));
+        Process process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Dinterp.metrics=true", "-cp", classPath, MetricsProbe.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(0, process.waitFor(), output);
+    }
+
+    /** Точка входа для {@link #metricsEnabledKeepsCapabilities}: выполняется в JVM с включёнными метриками. */
+    static final class MetricsProbe {
+
+        public static void main(String[] args) {
+            assertTrue(Metrics.ENABLED);
+            DataSet data = new DataSet(new double[]{1, 1.5, 2, 2.5, 3}, new double[]{1, 3.375, 8, 15.625, 27});
+
+            for (String id : List.of("newton-forward", "newton-backward", "gauss-forward", "newton-divided")) {
+                Interpolant prepared = MethodRegistry.byId(id).prepare(data);
+                CompiledPolynomial compiled = CompiledPolynomial.compile(prepared, CompiledPolynomial.Basis.MONOMIAL);
+                assertEquals(prepared.value(1.7), compiled.value(1.7), 1e-12, id);
+            }
+            assertTrue(Metrics.timer("newton-forward.value").count() > 0);
+
+            // float-ядро, а не общий путь через double: тот вызвал бы prepare у самой обёртки
+            long prepared = Metrics.timer("newton-forward.prepare").count();
+            float[] out = new float[3];
+            MethodRegistry.byId("newton-forward").prepareFloat(FloatDataSet.of(data))
+                    .valuesAt(new float[]{1.2f, 1.7f, 2.9f}, out);
+            assertEquals(prepared, Metrics.timer("newton-forward.prepare").count());
+            assertEquals(1, Metrics.timer("newton-forward.prepareFloat").count());
+            assertEquals(1, Metrics.timer("newton-forward.batchFloat").count());
+            assertEquals(1.7 * 1.7 * 1.7, out[1], 1e-5);
+        }
+    }
+
+    @Test
+    @DisplayName("Узлы Чебышёва по точности: мало узлов, нет эффекта Рунге")
+    void chebyshevNodesReachTolerance() {
+        ChebyshevNodes.Fit sine = ChebyshevNodes.fit(Math::sin, 0, Math.PI, 1e-10);
+        assertTrue(sine.data().xs().length <= 33, "узлов: " + sine.data().xs().length);
+        assertEquals(0.0, sine.data().xs()[0], 0.0);
+        assertEquals(Math.PI, sine.data().xs()[sine.data().xs().length - 1], 0.0);
+
+        DoubleUnaryOperator runge = x -> 1 / (1 + 25 * x * x);
+        ChebyshevNodes.Fit fit = ChebyshevNodes.fit(runge, -1, 1, 1e-6);
+        Interpolant chebyshev = new BarycentricLagrangeMethod().prepare(fit.data());
+        Interpolant sinePoly = new BarycentricLagrangeMethod().prepare(sine.data());
+
+        int n = fit.data().xs().length;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = -1 + 2.0 * i / (n - 1);
+            ys[i] = runge.applyAsDouble(xs[i]);
+        }
+        Interpolant equispaced = new BarycentricLagrangeMethod().prepare(new DataSet(xs, ys));
+
+        double worstChebyshev = 0;
+        double worstEquispaced = 0;
+        for (int i = 0; i <= 1000; i++) {
+            double x = -1 + 0.002 * i;
+            worstChebyshev = Math.max(worstChebyshev, Math.abs(chebyshev.value(x) - runge.applyAsDouble(x)));
+            worstEquispaced = Math.max(worstEquispaced, Math.abs(equispaced.value(x) - runge.applyAsDouble(x)));
+            double t = Math.PI * i / 1000;
+            assertEquals(Math.sin(t), sinePoly.value(t), 1e-9);
+        }
+        assertTrue(worstChebyshev < 1e-5, "погрешность " + worstChebyshev);
+        assertTrue(worstEquispaced > 1, "равноотстоящие узлы должны расходиться");
+    }
+
+    @Test
+    @DisplayName("Компиляция форм Ньютона и Гаусса в мономы и ряд Чебышёва")
+    void compiledPolynomialsMatchPrepared() throws Exception {
+        double[] xs = new double[12];
+        double[] ys = new double[12];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = 1.0 + 0.25 * i;
+            ys[i] = Math.exp(-xs[i]) * Math.cos(3 * xs[i]);
+        }
+        DataSet data = new DataSet(xs, ys);
+        double[] queries = new double[97];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = 0.9 + 2.95 * i / (queries.length - 1);
+        }
+
+        for (InterpolationMethod method : List.of(new NewtonForwardMethod(), new NewtonBackwardMethod(),
+                new GaussForwardMethod(), new GaussBackwardMethod(), new NewtonDividedMethod())) {
+            Interpolant prepared = method.prepare(data);
+            for (CompiledPolynomial.Basis basis : CompiledPolynomial.Basis.values()) {
+                CompiledPolynomial compiled = CompiledPolynomial.compile(prepared, basis);
+                double[] batch = new double[queries.length];
+                compiled.valuesAt(queries, batch);
+                for (int i = 0; i < queries.length; i++) {
+                    double expected = prepared.value(queries[i]);
+                    String label = method.getClass().getSimpleName() + " " + basis + " x=" + queries[i];
+                    assertEquals(expected, compiled.value(queries[i]), 1e-10, label);
+                    assertEquals(compiled.value(queries[i]), batch[i], 1e-14, label);
+                }
+            }
+        }
+
+        CompiledPolynomial compiled = CompiledPolynomial.compile(
+                new GaussForwardMethod().prepare(data), CompiledPolynomial.Basis.CHEBYSHEV);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(compiled);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(compiled, in.readObject());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledPolynomial.compile(new StirlingMethod().prepare(data), CompiledPolynomial.Basis.MONOMIAL));
+    }
+
+    /* ---------- adaptive order ---------- */
+
+    @Test
+    @DisplayName("Методы на разностях — ограничение порядка и досрочная остановка")
+    void adaptiveOrderEarlyTermination() {
+        int n = 41;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = -1.0 + 0.05 * i;
+            ys[i] = Math.cos(xs[i]);              // чётная: нечётные центральные разности ≈ 0
+        }
+        DataSet data = new DataSet(xs, ys);
+        double[] queries = {-0.41, 0.0, 0.013, 0.37};
+
+        InterpolationMethod[] methods = {
+                new NewtonForwardMethod(64, 1e-13), new NewtonBackwardMethod(64, 1e-13),
+                new GaussForwardMethod(64, 1e-13), new GaussBackwardMethod(64, 1e-13),
+                new StirlingMethod(64, 1e-13), new BesselMethod(64, 1e-13)
+        };
+        for (InterpolationMethod method : methods) {
+            AdaptiveInterpolant interpolant = (AdaptiveInterpolant) method.prepare(data);
+            double[] batch = new double[queries.length];
+            interpolant.valuesAt(queries, batch);
+            for (int i = 0; i < queries.length; i++) {
+                AdaptiveInterpolant.Evaluation evaluation = interpolant.evaluate(queries[i]);
+                String where = method.getClass().getSimpleName() + " at x = " + queries[i];
+                assertEquals(Math.cos(queries[i]), evaluation.value(), 1e-11, where);
+                assertTrue(evaluation.order() < interpolant.maxOrder(), where + ": order " + evaluation.order());
+                assertEquals(evaluation.value(), batch[i], 0.0, where);
+            }
+        }
+
+        // у края таблицы полный порядок копит ошибку округления, усечённый — нет
+        double x = -0.93;
+        assertEquals(Math.cos(x), new NewtonForwardMethod(64, 1e-13).prepare(data).value(x), 1e-14);
+        assertTrue(Math.abs(new NewtonForwardMethod().prepare(data).value(x) - Math.cos(x)) > 1e-12);
+
+        AdaptiveInterpolant stirling = (AdaptiveInterpolant) new StirlingMethod(64, 1e-13).prepare(data);
+        assertTrue(stirling.evaluate(0.37).order() > 4);
+        assertEquals(4, ((AdaptiveInterpolant) new StirlingMethod().prepare(data)).maxOrder());
+
+        AdaptiveInterpolant cubic = (AdaptiveInterpolant) new NewtonForwardMethod(3, 0).prepare(
+                new DataSet(new double[]{0, 1, 2, 3, 4, 5}, new double[]{0, 1, 8, 27, 64, 125}));
+        assertEquals(new AdaptiveInterpolant.Evaluation(3.375, 3), cubic.evaluate(1.5));
+
+        assertThrows(IllegalArgumentException.class, () -> new GaussForwardMethod(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BesselMethod(4, Double.NaN));
+    }
+
+    /* ---------- automatic choice ---------- */
+
+    @Test
+    @DisplayName("Автовыбор — формула по положению точки в таблице")
+    void autoMethodDispatch() {
+        int n = 21;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = -1.0 + 0.1 * i;               // центральный узел x_10 = 0
+            ys[i] = Math.cos(xs[i]);
+        }
+        DataSet data = new DataSet(xs, ys);
+        AutoInterpolant auto = new AutoMethod().prepare(data);
+
+        // L = 16: центральный шаблон помещается для узлов x_8..x_12, то есть x ∈ [-0.2, 0.2]
+        assertAll(
+                () -> assertEquals(AutoInterpolant.Choice.STIRLING, auto.choose(0.02)),
+                () -> assertEquals(AutoInterpolant.Choice.STIRLING, auto.choose(-0.02)),
+                () -> assertEquals(AutoInterpolant.Choice.STIRLING, auto.choose(0.11)),
+                () -> assertEquals(AutoInterpolant.Choice.BESSEL, auto.choose(0.05)),
+                () -> assertEquals(AutoInterpolant.Choice.BESSEL, auto.choose(-0.07)),
+                () -> assertEquals(AutoInterpolant.Choice.NEWTON_FORWARD, auto.choose(-0.5)),
+                () -> assertEquals(AutoInterpolant.Choice.NEWTON_BACKWARD, auto.choose(0.9)),
+                () -> assertEquals(new StirlingMethod(16, 1e-12).prepare(data).value(0.02), auto.value(0.02), 0.0),
+                // Стирлинг в ближайшем узле x_11 = 0.1 — тот же, что на 17 узлах вокруг него
+                () -> assertEquals(new StirlingMethod(16, 1e-12).prepare(data.window(3, 17)).value(0.11),
+                        auto.value(0.11), 0.0),
+                () -> assertEquals(new NewtonForwardMethod(16, 1e-12).prepare(data).value(-0.5),
+                        auto.value(-0.5), 0.0),
+                () -> assertEquals(new NewtonBackwardMethod(16, 1e-12).prepare(data).value(0.9),
+                        auto.value(0.9), 0.0)
+        );
+
+        double[] queries = new double[301];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = -1.0 + 2.0 * i / (queries.length - 1);
+        }
+        double[] out = new double[queries.length];
+        auto.valuesAt(queries, out);
+        for (int i = 0; i < queries.length; i++) {
+            assertEquals(auto.value(queries[i]), out[i], 0.0);
+            assertEquals(Math.cos(queries[i]), out[i], 1e-12, "x = " + queries[i]);
+        }
+
+        // 201 узел: у центральных формул |t| ≤ 0.5 везде, кроме краёв, поэтому хватает нескольких порядков
+        int large = 201;
+        double[] largeXs = new double[large];
+        double[] largeYs = new double[large];
+        for (int i = 0; i < large; i++) {
+            largeXs[i] = 0.01 * i;
+            largeYs[i] = Math.sin(largeXs[i]);
+        }
+        AutoInterpolant wide = new AutoMethod().prepare(new DataSet(largeXs, largeYs));
+        double[] across = new double[4001];
+        for (int i = 0; i < across.length; i++) {
+            across[i] = 2.0 * i / (across.length - 1);
+        }
+        double[] values = new double[across.length];
+        wide.valuesAt(across, values);
+        for (int i = 0; i < across.length; i++) {
+            AdaptiveInterpolant.Evaluation evaluation = wide.evaluate(across[i]);
+            assertEquals(evaluation.value(), values[i], 0.0);
+            assertEquals(Math.sin(across[i]), values[i], 1e-14, "x = " + across[i]);
+            assertTrue(evaluation.order() <= AutoMethod.DEFAULT_ORDER, "x = " + across[i]);
+        }
+        assertEquals(AutoInterpolant.Choice.STIRLING, wide.choose(1.009));
+        assertTrue(wide.evaluate(0.9).order() <= 8, "порядок: " + wide.evaluate(0.9).order());
+
+        AutoInterpolant pair = new AutoMethod().prepare(new DataSet(new double[]{1, 2}, new double[]{3, 5}));
+        assertEquals(AutoInterpolant.Choice.NEWTON_FORWARD, pair.choose(1.5));
+        assertEquals(4.0, pair.value(1.5), 0.0);
+        assertTrue(MethodRegistry.byId("auto").supports(data));
+    }
+
+    /* ---------- float32 path ---------- */
+
+    /**
+     * Float-путь против double в средней половине таблицы — там, где
+     * {@link FloatInterpolant} обещает несколько единиц 1e-7 от max |y|.
+     */
+    private static void assertFloatPathWithinDocumentedBound(DataSet data) {
+        double first = data.xs()[0];
+        double span = data.xs()[data.xs().length - 1] - first;
+        double maxAbs = 0;
+        for (double y : data.ys()) {
+            maxAbs = Math.max(maxAbs, Math.abs(y));
+        }
+        float[] queries = new float[997];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = (float) (first + span * (0.25 + 0.5 * i / (queries.length - 1)));
+        }
+        double[] wide = FloatDataSet.widen(queries);
+        FloatDataSet narrow = FloatDataSet.of(data);
+
+        for (InterpolationMethod method : List.of(new NewtonForwardMethod(), new NewtonBackwardMethod(),
+                new LagrangeMethod())) {
+            double[] expected = new double[wide.length];
+            method.prepare(data).valuesAt(wide, expected);
+            float[] out = new float[queries.length];
+            method.prepareFloat(narrow).valuesAt(queries, out);
+            for (int i = 0; i < queries.length; i++) {
+                assertEquals(expected[i], out[i], 5e-7 * maxAbs,
+                        method.getClass().getSimpleName() + ", n = " + data.xs().length + ", x = " + queries[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Float-путь: Ньютон близок к double, остальные методы — через расширение")
+    void floatBatchMatchesDouble() throws IOException {
+        // таблицы из tests/ обычным чтением; 1.txt (повторы x) и 2.txt (разное число x и y) отвергаются
+        Path tables = Path.of("tests");
+        assertThrows(IllegalArgumentException.class, () -> FileDataProvider.read(tables.resolve("1.txt")));
+        assertThrows(IllegalArgumentException.class, () -> FileDataProvider.read(tables.resolve("2.txt")));
+
+        int n = 21;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = 0.1 * i;
+            ys[i] = Math.sin(xs[i]);
+        }
+        for (DataSet data : List.of(FileDataProvider.read(tables.resolve("3.txt")), new DataSet(xs, ys))) {
+            assertFloatPathWithinDocumentedBound(data);
+        }
+
+        DataSet squares = new DataSet(new double[]{0, 1, 2, 3, 4}, new double[]{0, 1, 4, 9, 16});
+        float[] out = new float[3];
+        new NewtonForwardMethod().prepareFloat(FloatDataSet.of(squares))
+                .valuesAt(new float[]{0.5f, 1.25f, 3.5f}, out);
+        assertArrayEquals(new float[]{0.25f, 1.5625f, 12.25f}, out, 0f);
+        FloatInterpolant sine = new NewtonForwardMethod().prepareFloat(FloatDataSet.of(new DataSet(xs, ys)));
+        assertThrows(IndexOutOfBoundsException.class, () -> sine.valuesAt(new float[997], 0, 997, new float[1]));
+
+        double[] denseXs = new double[41];
+        double[] denseYs = new double[41];
+        for (int i = 0; i < denseXs.length; i++) {
+            denseXs[i] = 0.05 * i;
+            denseYs[i] = Math.sin(denseXs[i]);
+        }
+        DataSet dense = new DataSet(denseXs, denseYs);
+        float[] middle = new float[1];
+        new NewtonForwardMethod().prepareFloat(FloatDataSet.of(dense)).valuesAt(new float[]{1.1f}, middle);
+        assertEquals(Math.sin(1.1f), middle[0], 1e-6, "порядок 40 считается через double");
+    }
+
+    /* ---------- 2-D grids ---------- */
+
+    @Test
+    @DisplayName("Сетка x × y: произведение одномерных методов и кэш столбца по x")
+    void tensorProductGrid() {
+        double[] xs = {0, 0.5, 1, 1.5, 2, 2.5};
+        double[] ys = {-1, 0, 1, 2, 3};
+        double[][] zs = new double[xs.length][ys.length];
+        for (int i = 0; i < xs.length; i++) {
+            for (int j = 0; j < ys.length; j++) {
+                zs[i][j] = xs[i] * xs[i] * xs[i] - 2 * xs[i] * ys[j] * ys[j] + ys[j];
+            }
+        }
+        GridDataSet grid = DataSets.validatedGrid(xs, ys, zs);
+
+        int[] prepared = {0};
+        InterpolationMethod counting = data -> {
+            prepared[0]++;
+            return new NewtonForwardMethod().prepare(data);
+        };
+        GridInterpolant surface = new TensorProductMethod(counting).prepare(grid);
+        assertEquals(ys.length, prepared[0]);
+
+        double[] qx = {0.3, 0.3, 0.3, 1.7, 1.7, 2.2};
+        double[] qy = {-0.5, 0.25, 2.9, 1.1, -1.0, 0.7};
+        double[] out = new double[qx.length];
+        surface.valuesAt(qx, qy, out);
+        assertEquals(ys.length + 3, prepared[0], "по одному столбцу на каждый новый x");
+        for (int i = 0; i < qx.length; i++) {
+            double x = qx[i];
+            double y = qy[i];
+            assertEquals(x * x * x - 2 * x * y * y + y, out[i], 1e-12, "(" + x + ", " + y + ")");
+            assertEquals(surface.value(x, y), out[i], 0.0);
+        }
+        assertEquals(zs[3][2], new TensorProductMethod(new LagrangeMethod()).prepare(grid).value(1.5, 1), 1e-12);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> DataSets.validatedGrid(xs, ys, new double[xs.length][ys.length - 1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> DataSets.validatedGrid(new double[]{0, 2, 1, 3, 4, 5}, ys, zs));
+        double[] uneven = {-1, 0, 1, 2, 4};
+        assertThrows(IllegalArgumentException.class,
+                () -> new TensorProductMethod(new NewtonForwardMethod())
+                        .prepare(DataSets.validatedGrid(xs, uneven, zs)));
+    }
+
+    /* ---------- cubic spline ---------- */
+
+    @Test
+    @DisplayName("Кубический сплайн: точность на кубике, неравномерные узлы, большая таблица")
+    void cubicSpline() {
+        double[] xs = {0, 0.3, 1.1, 1.5, 2.6, 3};
+        double[] ys = new double[xs.length];
+        double[] line = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            ys[i] = xs[i] * xs[i] * xs[i] - 2 * xs[i];
+            line[i] = 4 - 0.5 * xs[i];
+        }
+        DataSet cubic = new DataSet(xs, ys);
+        Interpolant clamped = new CubicSplineMethod(-2, 25).prepare(cubic);
+        Interpolant natural = new CubicSplineMethod().prepare(new DataSet(xs, line));
+        for (double x = -0.5; x <= 3.5; x += 0.125) {
+            assertEquals(x * x * x - 2 * x, clamped.value(x), 1e-12, "закреплённый, x = " + x);
+            assertEquals(4 - 0.5 * x, natural.value(x), 1e-12, "естественный, x = " + x);
+        }
+        assertEquals(1.5, new CubicSplineMethod().prepare(new DataSet(new double[]{1, 2}, new double[]{1, 2}))
+                .value(1.5), 0.0);
+
+        int n = 2001;
+        double[] uniform = new double[n];
+        double[] shifted = new double[n];
+        double[] sines = new double[n];
+        double[] shiftedSines = new double[n];
+        for (int i = 0; i < n; i++) {
+            uniform[i] = Math.PI * i / (n - 1);
+            shifted[i] = uniform[i] + (i % 2 == 1 ? 1e-4 : 0);
+            sines[i] = Math.sin(uniform[i]);
+            shiftedSines[i] = Math.sin(shifted[i]);
+        }
+        Interpolant equal = MethodRegistry.byId("spline").prepare(new DataSet(uniform, sines));
+        Interpolant uneven = new CubicSplineMethod(1, -1).prepare(new DataSet(shifted, shiftedSines));
+        for (int i = 0; i < 1000; i++) {
+            double x = Math.PI * ((i * 0.6180339887498949) % 1.0);
+            assertEquals(Math.sin(x), equal.value(x), 1e-12, "x = " + x);
+            assertEquals(Math.sin(x), uneven.value(x), 1e-12, "x = " + x);
+        }
+
+        assertFalse(new CubicSplineMethod().supports(new DataSet(new double[]{0, 2, 1}, new double[]{0, 0, 0})));
+        assertThrows(IllegalArgumentException.class, () -> new CubicSplineMethod(Double.NaN, 0));
+    }
+
+    /* ---------- off-heap tables ---------- */
+
+    @Test
+    @DisplayName("Таблица вне кучи: отображение файла, кусочный метод, закрытие")
+    void offHeapTable(@TempDir Path dir) throws IOException {
+        int n = 5000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = 0.002 * i + (i % 2) * 1e-5;
+            ys[i] = Math.exp(-xs[i]) * Math.cos(3 * xs[i]);
+        }
+        DataSet heap = new DataSet(xs, ys);
+        Path file = dir.resolve("table.bin");
+        BinaryTable.write(file, heap);
+
+        PiecewiseMethod piecewise = new PiecewiseMethod(new NewtonDividedMethod(), 6);
+        Interpolant onHeap = piecewise.prepare(heap);
+        OffHeapTable mapped = OffHeapTable.map(file);
+        try {
+            assertEquals(n, mapped.size());
+            assertEquals(heap.grid(), mapped.grid());
+            assertEquals(ys[4321], mapped.y(4321), 0.0);
+            Interpolant offHeap = piecewise.prepare(mapped);
+            for (int i = 0; i < 2000; i++) {
+                double x = 10.0 * ((i * 0.6180339887498949) % 1.0);
+                assertEquals(onHeap.value(x), offHeap.value(x), 0.0, "x = " + x);
+            }
+        } finally {
+            mapped.close();
+        }
+        assertThrows(IllegalStateException.class, () -> mapped.x(0));
+
+        // close освобождает прямые буферы сразу, не дожидаясь GC
+        BufferPoolMXBean direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .findFirst()
+                .orElseThrow();
+        OffHeapTable allocated = OffHeapTable.allocate(n, i -> 0.5 * i, i -> Math.sqrt(i));
+        long held = direct.getMemoryUsed();
+        try {
+            assertTrue(allocated.grid().uniform());
+            assertEquals(0.5, allocated.grid().step(), 0.0);
+            assertEquals(Math.sqrt(1000.25), piecewise.prepare(allocated).value(500.125), 1e-9);
+        } finally {
+            allocated.close();
+        }
+        assertTrue(direct.getMemoryUsed() <= held - 16L * n, "занято прямой памяти: " + direct.getMemoryUsed());
+        allocated.close();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> OffHeapTable.allocate(10, i -> i % 5, i -> 0));
+    }
 }
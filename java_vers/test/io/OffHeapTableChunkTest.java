@@ -0,0 +1,54 @@
+package io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Границы кусков {@link OffHeapTable} на маленьких кусках: пакетные фабрики
+ * со сдвигом недоступны из общего набора тестов, поэтому проверки здесь.
+ */
+class OffHeapTableChunkTest {
+
+    @Test
+    @DisplayName("Таблица вне кучи: чтение, окна и сетка через границы кусков")
+    void readsAcrossChunkBoundaries(@TempDir Path dir) throws IOException {
+        int n = 5000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = 0.002 * i + (i % 2) * 1e-5;
+            ys[i] = Math.exp(-xs[i]) * Math.cos(3 * xs[i]);
+        }
+        DataSet heap = new DataSet(xs, ys);
+        Path file = dir.resolve("table.bin");
+        BinaryTable.write(file, heap);
+
+        // куски по 2^4 узлов вместо 2^27: окна, поиск и проход сетки пересекают сотни границ
+        try (OffHeapTable chunked = OffHeapTable.map(file, 4);
+             OffHeapTable small = OffHeapTable.allocate(37, i -> 0.5 * i, Math::sqrt, 2)) {
+            assertEquals(heap.grid(), chunked.grid());
+            DataSet window = chunked.window(1005, 40);
+            assertArrayEquals(Arrays.copyOfRange(xs, 1005, 1045), window.xs(), 0.0);
+            assertArrayEquals(Arrays.copyOfRange(ys, 1005, 1045), window.ys(), 0.0);
+            for (int i = 0; i < 500; i++) {
+                double x = 10.0 * ((i * 0.6180339887498949) % 1.0);
+                assertEquals(heap.locate(x), chunked.locate(x), "x = " + x);
+            }
+            assertEquals(ys[4321], chunked.y(4321), 0.0);
+
+            assertEquals(37, small.size());
+            assertEquals(Math.sqrt(36), small.y(36), 0.0);
+            assertArrayEquals(new double[]{Math.sqrt(3), 2, Math.sqrt(5), Math.sqrt(6)}, small.window(3, 4).ys(), 0.0);
+            assertEquals(0.5, small.grid().step(), 0.0);
+        }
+        assertThrows(IllegalArgumentException.class, () -> OffHeapTable.allocate(37, i -> i, i -> 0, 28));
+        assertThrows(IllegalArgumentException.class, () -> OffHeapTable.map(file, -1));
+    }
+}